@@ -0,0 +1,10 @@
+package com.studyolle.Main;
+
+import com.studyolle.event.EnrolledEventSummary;
+import com.studyolle.study.StudySummary;
+
+import java.util.List;
+
+public record HomeFeed(List<StudySummary> recommendedStudies, List<StudySummary> managingStudies,
+                       List<StudySummary> joinedStudies, List<EnrolledEventSummary> upcomingEvents) {
+}
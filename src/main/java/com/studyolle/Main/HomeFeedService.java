@@ -0,0 +1,35 @@
+package com.studyolle.Main;
+
+import com.studyolle.config.CacheConfig;
+import com.studyolle.event.EnrollmentRepository;
+import com.studyolle.study.StudyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+// 로그인한 사용자의 홈 화면. 항상 쿼리 네 번으로 만들고 계정별로 잠깐 캐시한다.
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class HomeFeedService {
+
+    public static final int RECOMMENDED_SIZE = 9;
+    public static final int MY_STUDY_SIZE = 5;
+    public static final int EVENT_SIZE = 5;
+
+    private final StudyRepository studyRepository;
+    private final EnrollmentRepository enrollmentRepository;
+
+    @Cacheable(cacheNames = CacheConfig.HOME_FEED, key = "#accountId")
+    public HomeFeed getHomeFeed(Long accountId) {
+        return new HomeFeed(
+                studyRepository.findRecommendedSummaries(accountId, PageRequest.of(0, RECOMMENDED_SIZE)),
+                studyRepository.findManagingSummaries(accountId, PageRequest.of(0, MY_STUDY_SIZE)),
+                studyRepository.findJoinedSummaries(accountId, PageRequest.of(0, MY_STUDY_SIZE)),
+                enrollmentRepository.findUpcomingSummaries(accountId, LocalDateTime.now(), PageRequest.of(0, EVENT_SIZE)));
+    }
+}
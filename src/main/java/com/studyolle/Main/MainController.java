@@ -2,17 +2,22 @@ package com.studyolle.Main;
 
 import com.studyolle.account.CurrentUser;
 import com.studyolle.domain.Account;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.ui.Model;
 
 @Controller
+@RequiredArgsConstructor
 public class MainController {
 
+    private final HomeFeedService homeFeedService;
+
     @GetMapping("/")
     public String home(@CurrentUser Account account, Model model) {
         if (account != null) {
             model.addAttribute(account);
+            model.addAttribute("homeFeed", homeFeedService.getHomeFeed(account.getId()));
         }
         return "index";
     }
@@ -0,0 +1,11 @@
+package com.studyolle.account;
+
+// 알림 메일을 보낼 때 필요한 컬럼만 읽어오는 프로젝션
+public interface AccountContact {
+
+    Long getId();
+
+    String getEmail();
+
+    String getNickname();
+}
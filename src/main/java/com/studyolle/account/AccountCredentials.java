@@ -0,0 +1,5 @@
+package com.studyolle.account;
+
+// 로그인에 필요한 컬럼만 읽어오는 프로젝션. AccountService 가 짧은 시간 캐시한다.
+public record AccountCredentials(Long id, String email, String nickname, String password, boolean emailVerified) {
+}
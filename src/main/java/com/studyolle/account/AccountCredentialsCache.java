@@ -0,0 +1,55 @@
+package com.studyolle.account;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studyolle.config.AppProperties;
+import com.studyolle.domain.Account;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Function;
+
+/*
+ * 로그인 아이디(이메일 또는 닉네임) -> 로그인 정보.
+ * 폼 로그인과 remember-me 자동 로그인이 매번 DB 를 읽지 않게 한다. 없는 아이디는 캐시하지 않는다.
+ */
+@Component
+public class AccountCredentialsCache {
+
+    private final Cache<String, AccountCredentials> credentials;
+
+    public AccountCredentialsCache(AppProperties appProperties) {
+        AppProperties.Login login = appProperties.getLogin();
+        this.credentials = Caffeine.newBuilder()
+                .maximumSize(login.getCredentialsCacheSize())
+                .expireAfterWrite(login.getCredentialsCacheTtl())
+                .build();
+    }
+
+    public AccountCredentials get(String username, Function<String, AccountCredentials> loader) {
+        return credentials.get(username, loader);
+    }
+
+    // 계정의 이메일, 닉네임으로 찾은 값을 모두 지운다.
+    // 커밋 전에 다른 요청이 예전 값을 다시 읽어 넣을 수 있으므로 커밋 뒤에 한 번 더 지운다.
+    public void evict(Account account) {
+        evictNow(account);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(account);
+                }
+            });
+        }
+    }
+
+    private void evictNow(Account account) {
+        credentials.invalidate(account.getEmail());
+        credentials.invalidate(account.getNickname());
+        if (account.getId() != null) {
+            credentials.asMap().values().removeIf(c -> c.id().equals(account.getId()));
+        }
+    }
+}
@@ -2,8 +2,12 @@ package com.studyolle.account;
 
 import com.studyolle.domain.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+
 @Transactional(readOnly = true)
 public interface AccountRepository extends JpaRepository<Account, Long> {
     boolean existsByEmail(String email);
@@ -13,4 +17,12 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     Account findByEmail(String s);
 
     Account findByNickname(String emailOrNickname);
+
+    List<AccountContact> findContactByIdIn(Collection<Long> ids);
+
+    // 이메일과 닉네임을 한 번에 찾는다. 둘 다 맞는 행이 있으면 이메일이 맞는 쪽이 먼저 온다.
+    @Query("select new com.studyolle.account.AccountCredentials(a.id, a.email, a.nickname, a.password, a.emailVerified) " +
+            "from Account a where a.email = :username or a.nickname = :username " +
+            "order by case when a.email = :username then 0 else 1 end")
+    List<AccountCredentials> findCredentials(String username);
 }
@@ -3,19 +3,27 @@ package com.studyolle.account;
 import com.studyolle.mail.EmailMessage;
 import com.studyolle.mail.EmailService;
 import com.studyolle.config.AppProperties;
+import com.studyolle.config.CacheConfig;
 import com.studyolle.domain.Tag;
 import com.studyolle.domain.Zone;
 import com.studyolle.domain.Account;
+import com.studyolle.image.ImageStore;
+import com.studyolle.image.ImageVariant;
+import com.studyolle.image.ImageVariants;
+import com.studyolle.notification.AccountInterestIndex;
 import com.studyolle.settings.form.Notifications;
 import com.studyolle.settings.form.Profile;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
@@ -27,7 +35,7 @@ import java.util.Set;
 @Service
 @RequiredArgsConstructor
 @Transactional
-public class AccountService implements UserDetailsService {
+public class AccountService implements UserDetailsService, UserDetailsPasswordService {
 
     private final AccountRepository accountRepository;
 
@@ -36,6 +44,10 @@ public class AccountService implements UserDetailsService {
     private final ModelMapper modelMapper;
     private final TemplateEngine templateEngine;
     private final AppProperties appProperties;
+    private final AccountInterestIndex accountInterestIndex;
+    private final ImageStore imageStore;
+    private final ImageVariants imageVariants;
+    private final AccountCredentialsCache accountCredentialsCache;
 
 
     public void processNewAccount(SignUpForm signUpForm) {
@@ -79,25 +91,32 @@ public class AccountService implements UserDetailsService {
         // ModelMapper를 사용하여 SignUpForm을 Account로 변환
         Account account = modelMapper.map(signUpForm, Account.class);
 
-        // Account 저장
+        // Account 저장. 같은 이메일, 닉네임으로 지워진 계정의 로그인 정보가 캐시에 남아 있을 수 있다.
+        accountCredentialsCache.evict(account);
         return accountRepository.save(account);
     }
 
     // Spring Security에서 제공하는 UserDetailsService를 구현
-    @Transactional(readOnly = true)
+    // 캐시에 있으면 트랜잭션도 열지 않는다. 없으면 로그인에 필요한 컬럼만 쿼리 한 번으로 읽는다.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @Override
     public UserDetails loadUserByUsername(String emailOrNickname) throws UsernameNotFoundException {
-        // 이메일 또는 닉네임으로 회원 정보 조회
-        Account account = accountRepository.findByEmail(emailOrNickname);
-        if (account == null) {
-            account = accountRepository.findByNickname(emailOrNickname);
-        }
-
-        if (account == null) {
+        AccountCredentials credentials = accountCredentialsCache.get(emailOrNickname,
+                username -> accountRepository.findCredentials(username).stream().findFirst().orElse(null));
+        if (credentials == null) {
             throw new UsernameNotFoundException(emailOrNickname);
         }
 
         // UserDetails 인터페이스를 구현한 UserAccount 객체 생성
+        return new UserAccount(credentials);
+    }
+
+    // 로그인에 성공했는데 저장된 해시의 방식이나 cost 가 현재 설정과 다르면 스프링 시큐리티가 새로 해시해서 넘겨준다.
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Account account = accountRepository.findById(((UserAccount) user).getAccountId()).orElseThrow();
+        account.setPassword(newPassword);
+        accountCredentialsCache.evict(account);
         return new UserAccount(account);
     }
 
@@ -105,11 +124,16 @@ public class AccountService implements UserDetailsService {
     public void completeSignUp(Account account) {
         account.setEmailVerified(true);
         account.setJoinedAt(LocalDate.now());
+        accountCredentialsCache.evict(account);
     }
 
     // 프로필 업데이트 처리
     public void updateProfile(Account account, Profile profile) {
+        // 이미지가 잘못되었으면 계정을 바꾸기 전에 InvalidImageException 으로 돌려보낸다.
+        String profileImageHash = imageStore.resolve(profile.getProfileImage());
         modelMapper.map(profile, account);
+        account.setProfileImageHash(profileImageHash);
+        imageVariants.prepare(account.getProfileImageHash(), ImageVariant.AVATAR);
         accountRepository.save(account);
     }
 
@@ -117,18 +141,22 @@ public class AccountService implements UserDetailsService {
     public void updatePassword(Account account, String newPassword) {
         account.setPassword(passwordEncoder.encode(newPassword));
         accountRepository.save(account);
+        accountCredentialsCache.evict(account);
     }
 
     // 알림 설정 업데이트 처리
     public void updateNotifications(Account account, Notifications notifications) {
         modelMapper.map(notifications, account);
         accountRepository.save(account);
+        accountInterestIndex.updateSubscription(account);
     }
 
     // 닉네임 변경 처리
     public void updateNickname(Account account, String nickname) {
+        // 예전 닉네임으로 캐시된 값은 id 로 찾아 지운다.
         account.setNickname(nickname);
         accountRepository.save(account);
+        accountCredentialsCache.evict(account);
     }
 
     // 비밀번호를 모를 때 이메일로 로그인 링크 전송
@@ -152,28 +180,44 @@ public class AccountService implements UserDetailsService {
         emailService.sendEmail(emailMessage);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.HOME_FEED, key = "#account.id")
     public void addTag(Account account, Tag tag) {
-        accountRepository.findById(account.getId()).ifPresent(a -> a.getTags().add(tag));
+        accountRepository.findById(account.getId()).ifPresent(a -> {
+            a.getTags().add(tag);
+            accountInterestIndex.addTag(a, tag.getId());
+        });
     }
 
     public Set<Tag> getTags(Account account) {
         return accountRepository.findById(account.getId()).orElseThrow().getTags();
     }
 
+    @CacheEvict(cacheNames = CacheConfig.HOME_FEED, key = "#account.id")
     public void removeTag(Account account, Tag tag) {
-        accountRepository.findById(account.getId()).ifPresent(a -> a.getTags().remove(tag));
+        accountRepository.findById(account.getId()).ifPresent(a -> {
+            a.getTags().remove(tag);
+            accountInterestIndex.removeTag(a, tag.getId());
+        });
     }
 
     public Set<Zone> getZones(Account account) {
         return accountRepository.findById(account.getId()).orElseThrow().getZones();
     }
 
+    @CacheEvict(cacheNames = CacheConfig.HOME_FEED, key = "#account.id")
     public void removeZone(Account account, Zone zone) {
-        accountRepository.findById(account.getId()).ifPresent(a -> a.getZones().remove(zone));
+        accountRepository.findById(account.getId()).ifPresent(a -> {
+            a.getZones().remove(zone);
+            accountInterestIndex.removeZone(a, zone.getId());
+        });
     }
 
+    @CacheEvict(cacheNames = CacheConfig.HOME_FEED, key = "#account.id")
     public void addZone(Account account, Zone zone) {
-        accountRepository.findById(account.getId()).ifPresent(a -> a.getZones().add(zone));
+        accountRepository.findById(account.getId()).ifPresent(a -> {
+            a.getZones().add(zone);
+            accountInterestIndex.addZone(a, zone.getId());
+        });
     }
 
     public Account getAccount(String nickname) {
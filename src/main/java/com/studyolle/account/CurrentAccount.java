@@ -0,0 +1,44 @@
+package com.studyolle.account;
+
+import com.studyolle.domain.Account;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+// 요청 안에서 로그인한 계정 엔티티를 처음 필요할 때 한 번만 읽는다.
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentAccount {
+
+    private final AccountRepository accountRepository;
+
+    private Account account;
+
+    public UserAccount principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UserAccount userAccount
+                ? userAccount : null;
+    }
+
+    public Account get() {
+        if (account == null) {
+            UserAccount principal = principal();
+            if (principal != null) {
+                account = accountRepository.findById(principal.getAccountId()).orElse(null);
+            }
+        }
+        return account;
+    }
+
+    // 연관 관계를 맺는 데만 쓸 때는 읽지 않고 참조만 만든다.
+    public Account reference() {
+        if (account != null) {
+            return account;
+        }
+        UserAccount principal = principal();
+        return principal == null ? null : accountRepository.getReferenceById(principal.getAccountId());
+    }
+}
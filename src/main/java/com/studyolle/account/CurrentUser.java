@@ -1,15 +1,13 @@
 package com.studyolle.account;
 
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+// 로그인한 사용자. Account 로 받으면 엔티티를, UserAccount 로 받으면 DB 를 읽지 않고 세션의 정보만 준다.
+// 로그인하지 않았으면 null 이다. (CurrentUserArgumentResolver)
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.PARAMETER)
-// account는 UserAccout의 account를 의미한다.
-@AuthenticationPrincipal(expression = "#this == 'anonymousUser' ? null : account")
 public @interface CurrentUser {
 }
@@ -0,0 +1,31 @@
+package com.studyolle.account;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.rememberme.PersistentTokenBasedRememberMeServices;
+
+/*
+ * 쿠키의 토큰이 이 서버 메모리의 토큰과 다르면 먼저 persistent_logins 에서 다시 읽는다.
+ * 다른 서버가 토큰을 바꾼 경우를 쿠키 도용(CookieTheftException)으로 보고 사용자의 토큰을 모두 지우지 않게 한다.
+ */
+public class ReadThroughRememberMeServices extends PersistentTokenBasedRememberMeServices {
+
+    private final RememberMeTokenRepository tokenRepository;
+
+    public ReadThroughRememberMeServices(String key, UserDetailsService userDetailsService,
+                                         RememberMeTokenRepository tokenRepository) {
+        super(key, userDetailsService, tokenRepository);
+        this.tokenRepository = tokenRepository;
+    }
+
+    @Override
+    protected UserDetails processAutoLoginCookie(String[] cookieTokens, HttpServletRequest request,
+                                                 HttpServletResponse response) {
+        if (cookieTokens.length == 2) {
+            tokenRepository.refresh(cookieTokens[0], cookieTokens[1]);
+        }
+        return super.processAutoLoginCookie(cookieTokens, request, response);
+    }
+}
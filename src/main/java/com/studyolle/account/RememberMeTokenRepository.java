@@ -0,0 +1,209 @@
+package com.studyolle.account;
+
+import com.studyolle.config.AppProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.authentication.rememberme.PersistentRememberMeToken;
+import org.springframework.security.web.authentication.rememberme.PersistentTokenRepository;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * remember-me 토큰 저장소. persistent_logins 테이블이 원본이고 메모리(series -> 토큰)는 이 서버가 본 토큰의 캐시다.
+ * - 자동 로그인할 때마다 하던 SELECT 대신 메모리에서 읽는다. 메모리에 없는 series 는 테이블에서 읽어 온다.
+ * - 다른 서버가 먼저 토큰을 바꿨으면 메모리의 토큰이 쿠키와 다르다. 이때는 refresh() 가 테이블에서 다시 읽으므로
+ *   (ReadThroughRememberMeServices) 쿠키 도용으로 오인해서 사용자의 토큰을 모두 지우지 않는다.
+ * - 토큰 교체는 "where series = ? and token = <메모리의 토큰>" 조건으로 테이블에 바로 쓴다. 같은 토큰을 두 요청이
+ *   동시에 바꾸면 한쪽만 성공하고, 진 쪽은 OptimisticLockingFailureException 으로 자동 로그인에 실패한다.
+ * - 로그인할 때 만든 토큰만 모아서 flush() 가 JDBC 배치로 넣는다. 아직 넣지 않은 토큰의 교체는 메모리에서만 한다.
+ * - 로그아웃(removeUserTokens)은 바로 테이블에서 지운다. 쓰기 락으로 막아서 그동안 flush() 나 테이블 읽기가
+ *   지운 토큰을 되살리지 못하게 한다.
+ * 가상 스레드에서도 돌므로 DB 를 기다리는 동안 synchronized 를 잡지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RememberMeTokenRepository implements PersistentTokenRepository {
+
+    private static final String SELECT_SQL = "select username, series, token, last_used from persistent_logins where series = ?";
+    private static final String UPDATE_SQL = "update persistent_logins set token = ?, last_used = ? where series = ? and token = ?";
+    private static final String INSERT_SQL = "insert into persistent_logins (username, series, token, last_used) values (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AppProperties appProperties;
+
+    private final Map<String, PersistentRememberMeToken> tokens = new ConcurrentHashMap<>();
+    // 테이블에 아직 넣지 않은 새 토큰
+    private final Map<String, PersistentRememberMeToken> pending = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // flush() 와 아직 넣지 않은 토큰의 교체가 엇갈리지 않게 한다. 항상 lock 의 읽기 락 다음에 잡는다.
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Override
+    public void createNewToken(PersistentRememberMeToken token) {
+        tokens.put(token.getSeries(), token);
+        pending.put(token.getSeries(), token);
+    }
+
+    @Override
+    public void updateToken(String series, String tokenValue, Date lastUsed) {
+        lock.readLock().lock();
+        try {
+            PersistentRememberMeToken current = getTokenForSeries(series);
+            if (current == null) {
+                return;
+            }
+            PersistentRememberMeToken updated = new PersistentRememberMeToken(current.getUsername(), series, tokenValue, lastUsed);
+
+            flushLock.lock();
+            try {
+                if (pending.containsKey(series)) {
+                    pending.put(series, updated);
+                    tokens.put(series, updated);
+                    return;
+                }
+            } finally {
+                flushLock.unlock();
+            }
+
+            int updatedRows = jdbcTemplate.update(UPDATE_SQL,
+                    tokenValue, new Timestamp(lastUsed.getTime()), series, current.getTokenValue());
+            if (updatedRows == 0) {
+                // 다른 요청이나 다른 서버가 먼저 바꿨다. 다음에는 테이블에서 다시 읽는다.
+                tokens.remove(series, current);
+                throw new OptimisticLockingFailureException("remember-me token of series " + series + " was already rotated");
+            }
+            // 그 사이에 메모리의 토큰이 바뀌었으면 내려서 다음에 테이블에서 읽게 한다.
+            if (!tokens.replace(series, current, updated)) {
+                tokens.remove(series);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public PersistentRememberMeToken getTokenForSeries(String seriesId) {
+        PersistentRememberMeToken token = tokens.get(seriesId);
+        if (token != null) {
+            return token;
+        }
+        lock.readLock().lock();
+        try {
+            PersistentRememberMeToken loaded = load(seriesId);
+            if (loaded == null) {
+                return null;
+            }
+            // 그 사이에 다른 요청이 읽어 왔거나 갱신했으면 그 값을 쓴다.
+            PersistentRememberMeToken current = tokens.putIfAbsent(seriesId, loaded);
+            return current != null ? current : loaded;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 쿠키의 토큰이 메모리의 토큰과 다르면 다른 서버가 바꿨을 수 있으므로 테이블에서 다시 읽어 둔다.
+    public void refresh(String series, String presentedToken) {
+        PersistentRememberMeToken cached = tokens.get(series);
+        if (cached == null || cached.getTokenValue().equals(presentedToken) || pending.containsKey(series)) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            PersistentRememberMeToken loaded = load(series);
+            if (loaded == null) {
+                tokens.remove(series, cached);
+            } else {
+                tokens.replace(series, cached, loaded);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeUserTokens(String username) {
+        lock.writeLock().lock();
+        try {
+            tokens.values().removeIf(token -> token.getUsername().equals(username));
+            pending.values().removeIf(token -> token.getUsername().equals(username));
+            jdbcTemplate.update("delete from persistent_logins where username = ?", username);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 로그인할 때 만든 토큰을 테이블에 넣는다.
+    @Scheduled(fixedDelayString = "${app.remember-me.flush-millis:1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        lock.readLock().lock();
+        flushLock.lock();
+        try {
+            List<PersistentRememberMeToken> inserts = new ArrayList<>(pending.values());
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts.stream()
+                    .map(t -> new Object[]{t.getUsername(), t.getSeries(), t.getTokenValue(), new Timestamp(t.getDate().getTime())})
+                    .toList());
+            // 넣지 못했으면 pending 에 남아서 다음 flush 에서 다시 넣는다.
+            inserts.forEach(t -> pending.remove(t.getSeries(), t));
+            log.debug("remember-me tokens flushed: {} inserted", inserts.size());
+        } finally {
+            flushLock.unlock();
+            lock.readLock().unlock();
+        }
+    }
+
+    // 만료된 토큰을 메모리와 테이블에서 지우고, 한동안 쓰지 않은 토큰은 메모리에서만 내린다.
+    @Scheduled(initialDelayString = "${app.remember-me.purge-millis:3600000}",
+            fixedDelayString = "${app.remember-me.purge-millis:3600000}")
+    public void purge() {
+        AppProperties.RememberMe rememberMe = appProperties.getRememberMe();
+        long now = System.currentTimeMillis();
+        Date expired = new Date(now - rememberMe.getTokenValidity().toMillis());
+        Date idle = new Date(now - rememberMe.getMemoryIdle().toMillis());
+
+        int evicted = 0;
+        lock.writeLock().lock();
+        try {
+            for (PersistentRememberMeToken token : tokens.values()) {
+                if (token.getDate().before(expired)) {
+                    tokens.remove(token.getSeries(), token);
+                    pending.remove(token.getSeries());
+                } else if (token.getDate().before(idle) && !pending.containsKey(token.getSeries())
+                        && tokens.remove(token.getSeries(), token)) {
+                    evicted++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        int deleted = jdbcTemplate.update("delete from persistent_logins where last_used < ?", new Timestamp(expired.getTime()));
+        log.info("remember-me tokens purged: {} expired rows deleted, {} idle tokens evicted from memory, {} in memory",
+                deleted, evicted, tokens.size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private PersistentRememberMeToken load(String series) {
+        List<PersistentRememberMeToken> loaded = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) ->
+                new PersistentRememberMeToken(rs.getString(1), rs.getString(2), rs.getString(3), rs.getTimestamp(4)), series);
+        return loaded.isEmpty() ? null : loaded.get(0);
+    }
+}
@@ -7,17 +7,33 @@ import org.springframework.security.core.userdetails.User;
 
 import java.util.List;
 
-// 유저가 사용하는 계정 정보와 스프링 세큐리티가 사용하는 유저 정보를 연결해주는 클래스
+/*
+ * 스프링 시큐리티가 세션에 들고 있는 유저 정보.
+ * Account 엔티티(프로필 이미지, 태그, 지역 등)를 통째로 세션에 두지 않고 식별에 필요한 값만 둔다.
+ * 엔티티가 필요한 핸들러는 @CurrentUser Account 로 받으면 요청마다 한 번 읽어 온다. (CurrentAccount)
+ */
 @Getter
 public class UserAccount extends User {
 
-        private Account account;
+    private final Long accountId;
 
-        public UserAccount(Account account) {
-            super(account.getNickname(), account.getPassword(), List.of(new SimpleGrantedAuthority("ROLE_USER")));
-            this.account = account;
-        }
+    private final String email;
 
+    private final boolean emailVerified;
 
+    public UserAccount(Account account) {
+        this(new AccountCredentials(account.getId(), account.getEmail(), account.getNickname(),
+                account.getPassword(), account.isEmailVerified()));
+    }
 
+    public UserAccount(AccountCredentials credentials) {
+        super(credentials.nickname(), credentials.password(), List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        this.accountId = credentials.id();
+        this.email = credentials.email();
+        this.emailVerified = credentials.emailVerified();
+    }
+
+    public String getNickname() {
+        return getUsername();
+    }
 }
@@ -1,18 +1,33 @@
 package com.studyolle.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.convention.NameTokenizers;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Map;
+
 @Configuration
 public class AppConfig {
 
+    // 새 비밀번호는 이 서버에 맞춰 보정한 cost 의 bcrypt 로 해시한다. 다른 방식으로 저장된 비밀번호도 비교할 수 있다.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    public PasswordEncoder passwordEncoder(AppProperties appProperties,
+                                           @Qualifier("passwordTaskExecutor") ThreadPoolTaskExecutor passwordTaskExecutor,
+                                           MeterRegistry meterRegistry) {
+        AppProperties.Password password = appProperties.getPassword();
+        int strength = BCryptCalibration.calibrate(password.getTargetHashTime(), password.getMinStrength());
+        DelegatingPasswordEncoder delegate = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(strength)));
+        delegate.setDefaultPasswordEncoderForMatches(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        return new OffloadedPasswordEncoder(delegate, strength, passwordTaskExecutor, meterRegistry);
     }
 
     @Bean
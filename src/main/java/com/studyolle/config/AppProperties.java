@@ -3,10 +3,124 @@ package com.studyolle.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @Data
 @Component
 @ConfigurationProperties("app") // properties 파일에서 app으로 시작하는 설정을 읽어옴
 public class AppProperties {
     private String host;
+
+    private Mail mail = new Mail();
+
+    private Outbox outbox = new Outbox();
+
+    private Image image = new Image();
+
+    private Enrollment enrollment = new Enrollment();
+
+    private ReferenceData referenceData = new ReferenceData();
+
+    private Login login = new Login();
+
+    private RememberMe rememberMe = new RememberMe();
+
+    private Password password = new Password();
+
+    private Session session = new Session();
+
+    @Data
+    public static class Mail {
+        // 메일 워커 수와 대기열 크기. 대기열이 차면 아웃박스에서 더 가져오지 않는다.
+        private int workers = 2;
+        private int queueCapacity = 20;
+        // 한 번의 SMTP 연결로 보내는 메일 수
+        private int batchSize = 20;
+        private int maxAttempts = 5;
+        // 워커가 가져간 메일을 다시 보낼 수 있게 되기까지의 시간
+        private Duration lease = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Outbox {
+        // 한 번에 가져와 처리기에 넘기는 도메인 이벤트 수
+        private int batchSize = 100;
+        private int maxAttempts = 5;
+        private Duration lease = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Image {
+        // 업로드한 이미지를 SHA-256 이름으로 저장하는 디렉터리
+        private Path storeDir = Path.of(System.getProperty("user.home"), ".studyolle", "images");
+        private DataSize maxSize = DataSize.ofMegabytes(4);
+        // 예전 @Lob 컬럼에 남아 있는 data URL 을 옮길 때 한 트랜잭션에서 처리하는 행 수
+        private int migrationBatchSize = 50;
+        // 크기별 이미지를 만드는 워커 수와 대기열 크기
+        private int variantWorkers = 2;
+        private int variantQueueCapacity = 100;
+        // 크기별 이미지 캐시 디렉터리가 이 크기를 넘으면 오래 쓰지 않은 파일부터 지운다.
+        private DataSize variantCacheSize = DataSize.ofMegabytes(512);
+        // 요청 시점에 크기별 이미지를 만들 때 기다리는 최대 시간. 넘으면 원본을 보낸다.
+        private Duration variantTimeout = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Enrollment {
+        // 계정, 모임마다 참가 신청/취소를 연달아 보낼 수 있는 횟수와 한 번이 다시 채워지는 간격
+        private int rateLimitBurst = 5;
+        private Duration rateLimitInterval = Duration.ofSeconds(1);
+        // 같은 Idempotency-Key 로 다시 보낸 요청에 처음 응답을 돌려주는 기간
+        private Duration idempotencyKeyTtl = Duration.ofMinutes(10);
+        // 같은 키로 먼저 온 요청이 끝나기를 기다리는 최대 시간. 넘으면 409 로 응답한다.
+        private Duration idempotencyKeyWait = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class ReferenceData {
+        // 참조 데이터 CSV 를 넣을 때 JDBC 배치 하나, 트랜잭션 하나에 담는 행 수
+        private int batchSize = 500;
+    }
+
+    @Data
+    public static class Login {
+        // 로그인 정보(비밀번호 해시 등) 캐시. 비밀번호, 닉네임을 바꾸면 바로 지우고 그 밖의 변경은 TTL 이 지나면 반영된다.
+        // TTL 이 0 이면 캐시하지 않는다.
+        private Duration credentialsCacheTtl = Duration.ofSeconds(30);
+        private int credentialsCacheSize = 10_000;
+    }
+
+    @Data
+    public static class RememberMe {
+        // remember-me 쿠키와 토큰의 유효 기간
+        private Duration tokenValidity = Duration.ofDays(14);
+        // 이 시간 동안 쓰지 않은 토큰은 메모리에서 내린다. 다시 쓰면 persistent_logins 에서 읽어 온다.
+        private Duration memoryIdle = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class Password {
+        // 시작할 때 bcrypt cost 를 해시 한 번이 이 시간을 넘지 않는 가장 큰 값으로 정한다. min-strength 보다 낮추지는 않는다.
+        private Duration targetHashTime = Duration.ofMillis(250);
+        private int minStrength = 10;
+        // 해시 워커 수(0 이면 CPU 코어 수의 절반)와 대기열 크기. 대기열이 차면 로그인, 가입 요청을 503 으로 돌려보낸다.
+        private int hashWorkers = 0;
+        private int hashQueueCapacity = 50;
+    }
+
+    @Data
+    public static class Session {
+        // true 면 HttpSession 대신 암호화한 쿠키에 로그인 정보를 둔다. (CookieSecurityContextRepository)
+        // 여러 서버를 sticky session 없이 로드 밸런서 뒤에 둘 수 있다. 모든 서버가 같은 keys 를 써야 한다.
+        private boolean stateless = false;
+        // base64 로 인코딩한 AES 키(16 또는 32 바이트). 첫 번째 키로 암호화하고, 나머지는 교체 전에 발급한 쿠키를 읽는 데만 쓴다.
+        private List<String> keys = new ArrayList<>();
+        private String cookieName = "STUDYOLLE_SESSION";
+        private Duration timeout = Duration.ofHours(12);
+    }
 }
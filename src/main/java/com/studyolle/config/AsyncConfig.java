@@ -0,0 +1,93 @@
+package com.studyolle.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+@EnableScheduling
+@RequiredArgsConstructor
+public class AsyncConfig implements AsyncConfigurer {
+
+    private final AppProperties appProperties;
+    private final Environment environment;
+
+    /*
+     * @Async 메소드가 사용하는 기본 스레드 풀.
+     * spring.threads.virtual.enabled=true (Java 21 이상, virtual 프로파일) 이면 작업마다 가상 스레드를 만든다.
+     * 메일, 이미지 워커 풀은 SMTP 연결 수와 디코딩 메모리를 제한하는 용도라서 가상 스레드 모드에서도 그대로 둔다.
+     */
+    @Override
+    public Executor getAsyncExecutor() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("async-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        int processors = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processors);
+        executor.setMaxPoolSize(processors * 2);
+        executor.setQueueCapacity(50);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("async-");
+        executor.initialize();
+        return executor;
+    }
+
+    // 메일 전송 전용 워커 풀. 대기열 크기를 제한해 SMTP가 느려져도 메모리가 무한정 늘지 않게 한다.
+    @Bean
+    public ThreadPoolTaskExecutor mailTaskExecutor() {
+        AppProperties.Mail mail = appProperties.getMail();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(mail.getWorkers());
+        executor.setMaxPoolSize(mail.getWorkers());
+        executor.setQueueCapacity(mail.getQueueCapacity());
+        executor.setThreadNamePrefix("mail-");
+        // 가득 찬 경우 작업을 버리지 않고 예외를 던진다. 아웃박스에 남아 있으므로 임대가 끝나면 다시 시도된다.
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    // 크기별 이미지를 만드는 워커 풀. 이미지 디코딩은 메모리를 많이 쓰므로 동시에 처리하는 수를 제한한다.
+    @Bean
+    public ThreadPoolTaskExecutor imageTaskExecutor() {
+        AppProperties.Image image = appProperties.getImage();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(image.getVariantWorkers());
+        executor.setMaxPoolSize(image.getVariantWorkers());
+        executor.setQueueCapacity(image.getVariantQueueCapacity());
+        executor.setThreadNamePrefix("image-");
+        // 가득 차면 미리 만들기를 건너뛴다. 처음 요청될 때 다시 만든다.
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    // 비밀번호 해시 워커 풀. 로그인이 몰려도 해시가 요청 처리 CPU 를 다 쓰지 않게 하고, 대기열이 차면 바로 거절한다.
+    @Bean
+    public ThreadPoolTaskExecutor passwordTaskExecutor() {
+        AppProperties.Password password = appProperties.getPassword();
+        int workers = password.getHashWorkers() > 0 ? password.getHashWorkers()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(password.getHashQueueCapacity());
+        executor.setThreadNamePrefix("password-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,38 @@
+package com.studyolle.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+// 이 서버에서 bcrypt 해시 한 번이 목표 시간을 넘지 않는 가장 큰 cost 를 찾는다. cost 가 1 오르면 시간은 두 배가 된다.
+@Slf4j
+final class BCryptCalibration {
+
+    private static final int MAX_STRENGTH = 31;
+    private static final int SAMPLES = 3;
+
+    private BCryptCalibration() {
+    }
+
+    static int calibrate(Duration target, int minStrength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        encoder.encode("warmup");
+        long nanos = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            nanos = Math.min(nanos, System.nanoTime() - start);
+        }
+
+        int strength = minStrength;
+        long expected = nanos;
+        while (strength < MAX_STRENGTH && expected * 2 <= target.toNanos()) {
+            strength++;
+            expected *= 2;
+        }
+        log.info("bcrypt strength {} (~{}ms per hash, target {}ms, {}ms at strength {})",
+                strength, expected / 1_000_000, target.toMillis(), nanos / 1_000_000, minStrength);
+        return strength;
+    }
+}
@@ -0,0 +1,39 @@
+package com.studyolle.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // 계정 id -> 읽지 않은 알림 개수
+    public static final String UNREAD_NOTIFICATIONS = "unreadNotifications";
+
+    // 계정 id -> 홈 화면 피드. 다른 사람의 변경(모집 시작, 대기자 승인 등)은 TTL 이 지나면 반영된다.
+    public static final String HOME_FEED = "homeFeed";
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(UNREAD_NOTIFICATIONS, Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofHours(1))
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(HOME_FEED, Caffeine.newBuilder()
+                .maximumSize(50_000)
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .recordStats()
+                .build());
+        // 캐시 삭제를 트랜잭션 커밋 이후로 미뤄서 커밋 전에 다시 읽어간 값이 캐시에 남지 않게 한다.
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,235 @@
+package com.studyolle.config;
+
+import com.studyolle.account.AccountCredentials;
+import com.studyolle.account.UserAccount;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.DeferredSecurityContext;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.security.web.context.SecurityContextRepository;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * 무상태 모드(app.session.stateless=true)에서 HttpSession 대신 쿠키에 로그인 정보를 담는다.
+ * 쿠키에는 계정 id, 닉네임, 이메일, 인증 여부, 발급 시각만 넣고 AES-GCM 으로 암호화한다. GCM 태그가 위변조를 막는다.
+ * 요청마다 쿠키만 풀어서 확인하므로 세션 저장소나 DB 를 보지 않고, 어느 서버로 가도 같은 사용자로 인식된다.
+ * 키 교체: app.session.keys 의 첫 번째 키로 암호화하고, 나머지 키로 만든 쿠키도 받아 준다.
+ * 로그인할 때 발급하고 app.session.timeout 이 지나면 받지 않는다. (remember-me 가 있으면 다시 로그인되어 새로 발급된다)
+ */
+@Slf4j
+public class CookieSecurityContextRepository implements SecurityContextRepository {
+
+    private static final byte VERSION = 1;
+    private static final int KEY_ID_LENGTH = 4;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final int HEADER_LENGTH = 1 + KEY_ID_LENGTH;
+
+    private final String cookieName;
+    private final Duration timeout;
+    private final Map<Integer, SecretKey> keys = new LinkedHashMap<>();
+    private final int currentKeyId;
+    private final SecureRandom random = new SecureRandom();
+
+    public CookieSecurityContextRepository(AppProperties.Session session) {
+        if (session.getKeys().isEmpty()) {
+            throw new IllegalStateException("app.session.keys is required when app.session.stateless=true");
+        }
+        this.cookieName = session.getCookieName();
+        this.timeout = session.getTimeout();
+        for (String encoded : session.getKeys()) {
+            byte[] key = Base64.getDecoder().decode(encoded.trim());
+            if (key.length != 16 && key.length != 32) {
+                throw new IllegalStateException("app.session.keys must be base64 encoded 128 or 256 bit AES keys");
+            }
+            keys.putIfAbsent(keyId(key), new SecretKeySpec(key, "AES"));
+        }
+        this.currentKeyId = keys.keySet().iterator().next();
+    }
+
+    public String getCookieName() {
+        return cookieName;
+    }
+
+    @Override
+    public DeferredSecurityContext loadDeferredContext(HttpServletRequest request) {
+        return new DeferredSecurityContext() {
+            private SecurityContext context;
+            private boolean generated;
+
+            @Override
+            public SecurityContext get() {
+                if (context == null) {
+                    context = readContext(request);
+                    if (context == null) {
+                        context = SecurityContextHolder.createEmptyContext();
+                        generated = true;
+                    }
+                }
+                return context;
+            }
+
+            @Override
+            public boolean isGenerated() {
+                get();
+                return generated;
+            }
+        };
+    }
+
+    @Deprecated
+    @Override
+    public SecurityContext loadContext(HttpRequestResponseHolder requestResponseHolder) {
+        return loadDeferredContext(requestResponseHolder.getRequest()).get();
+    }
+
+    @Override
+    public void saveContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
+        Authentication authentication = context.getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserAccount userAccount)) {
+            if (findCookie(request) != null) {
+                writeCookie(request, response, "", Duration.ZERO);
+            }
+            return;
+        }
+        writeCookie(request, response, encrypt(userAccount), timeout);
+    }
+
+    @Override
+    public boolean containsContext(HttpServletRequest request) {
+        return readContext(request) != null;
+    }
+
+    private SecurityContext readContext(HttpServletRequest request) {
+        String value = findCookie(request);
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        UserAccount principal = decrypt(value);
+        if (principal == null) {
+            return null;
+        }
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+        return context;
+    }
+
+    String encrypt(UserAccount userAccount) {
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream(128);
+            try (DataOutputStream out = new DataOutputStream(payload)) {
+                out.writeLong(userAccount.getAccountId());
+                out.writeLong(System.currentTimeMillis() / 1000);
+                out.writeBoolean(userAccount.isEmailVerified());
+                out.writeUTF(userAccount.getNickname());
+                out.writeUTF(userAccount.getEmail() == null ? "" : userAccount.getEmail());
+            }
+
+            byte[] header = ByteBuffer.allocate(HEADER_LENGTH).put(VERSION).putInt(currentKeyId).array();
+            byte[] iv = new byte[IV_LENGTH];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, keys.get(currentKeyId), new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(header);
+            byte[] encrypted = cipher.doFinal(payload.toByteArray());
+
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(ByteBuffer
+                    .allocate(header.length + iv.length + encrypted.length)
+                    .put(header).put(iv).put(encrypted).array());
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 형식이 틀리거나, 모르는 키이거나, 위변조되었거나, 만료된 쿠키는 null
+    UserAccount decrypt(String value) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(value));
+            if (buffer.remaining() <= HEADER_LENGTH + IV_LENGTH || buffer.get() != VERSION) {
+                return null;
+            }
+            SecretKey key = keys.get(buffer.getInt());
+            if (key == null) {
+                return null;
+            }
+            byte[] iv = new byte[IV_LENGTH];
+            buffer.get(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(buffer.array(), 0, HEADER_LENGTH);
+            byte[] payload = cipher.doFinal(buffer.array(), buffer.position(), buffer.remaining());
+
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+                long accountId = in.readLong();
+                long issuedAt = in.readLong();
+                boolean emailVerified = in.readBoolean();
+                String nickname = in.readUTF();
+                String email = in.readUTF();
+                if (System.currentTimeMillis() / 1000 - issuedAt > timeout.toSeconds()) {
+                    return null;
+                }
+                return new UserAccount(new AccountCredentials(accountId, email, nickname, "", emailVerified));
+            }
+        } catch (IllegalArgumentException | IOException | GeneralSecurityException e) {
+            log.debug("invalid session cookie: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String findCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        return Arrays.stream(cookies)
+                .filter(cookie -> cookieName.equals(cookie.getName()))
+                .map(Cookie::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void writeCookie(HttpServletRequest request, HttpServletResponse response, String value, Duration maxAge) {
+        ResponseCookie cookie = ResponseCookie.from(cookieName, value)
+                .path("/")
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .maxAge(maxAge)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private static int keyId(byte[] key) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(key), 0, KEY_ID_LENGTH).getInt();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
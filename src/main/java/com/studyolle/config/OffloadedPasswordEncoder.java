@@ -0,0 +1,88 @@
+package com.studyolle.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * 비밀번호 해시와 비교를 전용 워커 풀에서 한다.
+ * 로그인이 몰려도 해시에 쓰는 CPU 는 워커 수만큼으로 제한되고, 대기열이 가득 차면 기다리지 않고
+ * PasswordHashingRejectedException 을 던진다.
+ */
+public class OffloadedPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\{bcrypt}\\$2[aby]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder delegate;
+    private final int bcryptStrength;
+    private final ThreadPoolTaskExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public OffloadedPasswordEncoder(PasswordEncoder delegate, int bcryptStrength,
+                                    ThreadPoolTaskExecutor executor, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.bcryptStrength = bcryptStrength;
+        this.executor = executor;
+        this.encodeTimer = meterRegistry.timer("password.hash", "operation", "encode");
+        this.matchesTimer = meterRegistry.timer("password.hash", "operation", "matches");
+        this.rejectedCounter = meterRegistry.counter("password.hash.rejected");
+        Gauge.builder("password.hash.queue.size", executor,
+                e -> e.getThreadPoolExecutor().getQueue().size()).register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolTaskExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return offload(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return offload(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /*
+     * 로그인에 성공했을 때 true 면 스프링 시큐리티가 새 해시로 바꿔 저장한다. (AccountService.updatePassword)
+     * bcrypt 가 아니거나 cost 가 낮으면 다시 해시한다. 보정 결과는 재시작마다 1 정도 흔들리므로
+     * 현재 cost 보다 2 이상 높을 때만 낮춘다.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (delegate.upgradeEncoding(encodedPassword)) {
+            return true;
+        }
+        Matcher matcher = encodedPassword == null ? null : BCRYPT_COST.matcher(encodedPassword);
+        return matcher != null && matcher.find() && Integer.parseInt(matcher.group(1)) > bcryptStrength + 1;
+    }
+
+    private <T> T offload(Timer timer, Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(task));
+        } catch (TaskRejectedException e) {
+            rejectedCounter.increment();
+            throw new PasswordHashingRejectedException(e);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+    }
+}
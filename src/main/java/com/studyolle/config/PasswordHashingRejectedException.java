@@ -0,0 +1,14 @@
+package com.studyolle.config;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 해시 작업 대기열이 가득 차서 비밀번호를 해시하지 않고 돌려보냈다. 로그인이면 503 으로 응답한다. (SecurityConfig)
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingRejectedException extends AuthenticationServiceException {
+
+    public PasswordHashingRejectedException(Throwable cause) {
+        super("password hashing queue is full", cause);
+    }
+}
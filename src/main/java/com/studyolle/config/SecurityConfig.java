@@ -1,20 +1,27 @@
 package com.studyolle.config;
 
 
+import com.studyolle.account.ReadThroughRememberMeServices;
+import com.studyolle.account.RememberMeTokenRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.security.web.authentication.rememberme.JdbcTokenRepositoryImpl;
-import org.springframework.security.web.authentication.rememberme.PersistentTokenRepository;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.csrf.XorCsrfTokenRequestAttributeHandler;
 
-import javax.sql.DataSource;
+import java.util.UUID;
 
 @Configuration
 @EnableWebSecurity
@@ -24,8 +31,10 @@ public class SecurityConfig {
     // UserDetailsService 인터페이스를 구현한 AccountService 객체를 주입받음
     private final UserDetailsService userDetailsService;
 
-    // Spring Boot에서 등록한 HikariCP 데이터 소스를 주입받음
-    private final DataSource dataSource;
+    // persistent_logins 앞에 메모리 캐시를 둔 remember-me 토큰 저장소
+    private final RememberMeTokenRepository tokenRepository;
+
+    private final AppProperties appProperties;
 
     // 정적 요소 무시
     @Bean
@@ -38,7 +47,8 @@ public class SecurityConfig {
         // 해당 링크들을 제외한 모든 요청은 인증을 받아야 한다.
         http.authorizeHttpRequests(authorize -> authorize
                 .requestMatchers("/", "/login", "/sign-up", "check-mail", "/check-email-token",
-                                "/email-login", "/check-email-login", "/login-link", "/images/**",
+                                "/email-login", "/check-email-login", "/login-link", "/search/study", "/search/study/quick",
+                                "/image/**", "/images/**",
                                 "/css/**", "/js/**", "/node_modules/**", "/favicon.ico").permitAll()
                 .anyRequest().authenticated());
 
@@ -46,23 +56,51 @@ public class SecurityConfig {
         http.formLogin(formLogin -> formLogin
                 .loginPage("/login")
                 .defaultSuccessUrl("/", true)
+                .failureHandler(loginFailureHandler())
                         .permitAll());
 
         // 로그아웃 설정
         http.logout(logout -> logout
                 .logoutSuccessUrl("/"));
 
+        // 키는 RememberMeAuthenticationToken 을 서명하는 데만 쓰이므로 서버마다 달라도 된다.
+        ReadThroughRememberMeServices rememberMeServices =
+                new ReadThroughRememberMeServices(UUID.randomUUID().toString(), userDetailsService, tokenRepository);
+        rememberMeServices.setTokenValiditySeconds((int) appProperties.getRememberMe().getTokenValidity().toSeconds());
         http.rememberMe()
-                .userDetailsService(userDetailsService)
-                .tokenRepository(tokenRepository());
+                .rememberMeServices(rememberMeServices);
+
+        // 무상태 모드: 로그인 정보와 CSRF 토큰을 쿠키에 두고 HttpSession 을 만들지 않는다.
+        if (appProperties.getSession().isStateless()) {
+            CookieSecurityContextRepository securityContextRepository =
+                    new CookieSecurityContextRepository(appProperties.getSession());
+            http.securityContext(securityContext -> securityContext
+                    .securityContextRepository(securityContextRepository));
+            http.sessionManagement(sessionManagement -> sessionManagement
+                    .sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+            // CSRF 토큰을 지연 로딩하면 응답 본문이 먼저 나가서 토큰 쿠키를 못 붙일 수 있으므로 요청마다 미리 읽는다.
+            XorCsrfTokenRequestAttributeHandler csrfRequestHandler = new XorCsrfTokenRequestAttributeHandler();
+            csrfRequestHandler.setCsrfRequestAttributeName(null);
+            http.csrf(csrf -> csrf
+                    .csrfTokenRepository(new CookieCsrfTokenRepository())
+                    .csrfTokenRequestHandler(csrfRequestHandler));
+            http.logout(logout -> logout
+                    .deleteCookies(securityContextRepository.getCookieName()));
+        }
 
         return http.build();
     }
 
-    @Bean
-    public PersistentTokenRepository tokenRepository() {
-        JdbcTokenRepositoryImpl jdbcTokenRepository = new JdbcTokenRepositoryImpl();
-        jdbcTokenRepository.setDataSource(dataSource);
-        return jdbcTokenRepository;
+    // 비밀번호 해시 대기열이 가득 차서 거절된 로그인은 비밀번호가 틀린 것이 아니므로 503 으로 다시 시도하게 한다.
+    private AuthenticationFailureHandler loginFailureHandler() {
+        AuthenticationFailureHandler failureHandler = new SimpleUrlAuthenticationFailureHandler("/login?error");
+        return (request, response, exception) -> {
+            if (exception instanceof PasswordHashingRejectedException) {
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                return;
+            }
+            failureHandler.onAuthenticationFailure(request, response, exception);
+        };
     }
 }
@@ -0,0 +1,34 @@
+package com.studyolle.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/*
+ * spring.threads.virtual.enabled=true (Java 21 이상) 일 때만 쓰는 설정.
+ * Tomcat 요청 처리와 @Async 는 스프링 부트와 AsyncConfig 가 가상 스레드로 바꾸고,
+ * 여기서는 커넥션 풀 앞에 ConnectionLimitingDataSource 를 둔다.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikariDataSource) {
+                    return new ConnectionLimitingDataSource(hikariDataSource, hikariDataSource.getMaximumPoolSize(),
+                            Duration.ofMillis(hikariDataSource.getConnectionTimeout()));
+                }
+                return bean;
+            }
+        };
+    }
+}
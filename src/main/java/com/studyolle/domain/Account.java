@@ -1,5 +1,7 @@
 package com.studyolle.domain;
 
+import com.studyolle.image.ImageStore;
+import com.studyolle.image.ImageVariant;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -43,9 +45,9 @@ public class Account {
 
     private String location;
 
-    // 프로필 이미지 파일 이름
-    @Lob @Basic(fetch = FetchType.EAGER)
-    private String profileImage;
+    // 프로필 이미지의 SHA-256. 이미지 자체는 ImageStore 에 있다.
+    @Column(length = 64)
+    private String profileImageHash;
 
     private boolean studyCreatedByEmail;
 
@@ -87,4 +89,12 @@ public class Account {
     public boolean isManagerOf(Study study) {
         return study.getManagers().contains(this);
     }
+
+    public String getProfileImage() {
+        return ImageStore.url(profileImageHash);
+    }
+
+    public String getAvatarImage() {
+        return ImageStore.url(profileImageHash, ImageVariant.AVATAR);
+    }
 }
@@ -8,6 +8,11 @@ import lombok.Setter;
 
 import java.time.LocalDateTime;
 
+// 같은 모임에 같은 계정이 두 번 신청하지 못하도록 DB 에서도 막는다.
+// 대기 순서(먼저 신청한 순)대로 대기 중인 신청을 찾는 인덱스
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_enrollment_event_account",
+        columnNames = {"event_id", "account_id"}),
+        indexes = @Index(name = "idx_enrollment_waiting", columnList = "event_id, accepted, enrolledAt, id"))
 @Entity
 @Getter @Setter @EqualsAndHashCode(of = "id")
 public class Enrollment {
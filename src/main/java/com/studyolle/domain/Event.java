@@ -4,11 +4,11 @@ import com.studyolle.account.UserAccount;
 import com.studyolle.event.EventType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @NamedEntityGraph(
         name = "Event.withEnrollments",
@@ -43,12 +43,33 @@ public class Event {
 
     private Integer limitOfEnrollments;
 
+    // 대기 순서가 화면과 EnrollmentRepository.findWaitingIds 에서 항상 같도록 신청 순으로 읽는다.
     @OneToMany(mappedBy = "event")
+    @OrderBy("enrolledAt, id")
     private List<Enrollment> enrollments = new ArrayList<>();
 
     @Enumerated(EnumType.STRING)
     private EventType eventType;
 
+    // 모임 정보를 두 관리자가 동시에 수정하는 경우를 막는다.
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
+    /*
+     * 확정된 신청 수와 대기 중인 신청 수. 화면마다 enrollments 를 세지 않도록 따로 들고 있는다.
+     * DB 의 값은 EventRepository 의 조건부 UPDATE 로만 바꾸고 엔티티 변경으로는 덮어쓰지 않는다.
+     * 그래서 신청을 더하고 빼는 아래 메서드도 이 값은 바꾸지 않는다. 호출하는 쪽이 EventRepository 로 바꾼다.
+     * 어긋난 값은 EventCountReconciler 가 주기적으로 바로잡는다.
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private int acceptedCount;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private int waitingCount;
+
     public boolean isEnrollableFor(UserAccount userAccount) {
         return isNotClosed() && !isAttended(userAccount) && !isAlreadyEnrolled(userAccount);
     }
@@ -62,9 +83,8 @@ public class Event {
     }
 
     public boolean isAttended(UserAccount userAccount) {
-        Account account = userAccount.getAccount();
         for (Enrollment e : this.enrollments) {
-            if (e.getAccount().equals(account) && e.isAttended()) {
+            if (e.getAccount().getId().equals(userAccount.getAccountId()) && e.isAttended()) {
                 return true;
             }
         }
@@ -73,13 +93,12 @@ public class Event {
     }
 
     public int numberOfRemainSpots() {
-        return this.limitOfEnrollments - (int) this.enrollments.stream().filter(Enrollment::isAccepted).count();
+        return this.limitOfEnrollments - this.acceptedCount;
     }
 
     private boolean isAlreadyEnrolled(UserAccount userAccount) {
-        Account account = userAccount.getAccount();
         for (Enrollment e : this.enrollments) {
-            if (e.getAccount().equals(account)) {
+            if (e.getAccount().getId().equals(userAccount.getAccountId())) {
                 return true;
             }
         }
@@ -87,7 +106,7 @@ public class Event {
     }
 
     public long getNumberOfAcceptedEnrollments() {
-        return this.enrollments.stream().filter(Enrollment::isAccepted).count();
+        return this.acceptedCount;
     }
 
     public void addEnrollment(Enrollment enrollment) {
@@ -100,67 +119,24 @@ public class Event {
         enrollment.setEvent(null);
     }
 
-    public boolean isAbleToAcceptWaitingEnrollment() {
-        return this.eventType == EventType.FCFS && this.limitOfEnrollments > this.getNumberOfAcceptedEnrollments();
-    }
-
     public boolean canAccept(Enrollment enrollment) {
         return this.eventType == EventType.CONFIRMATIVE
-                && this.enrollments.contains(enrollment)
-                && this.limitOfEnrollments > this.getNumberOfAcceptedEnrollments()
+                && this.isEnrollmentOfThis(enrollment)
+                && this.limitOfEnrollments > this.acceptedCount
                 && !enrollment.isAttended()
                 && !enrollment.isAccepted();
     }
 
     public boolean canReject(Enrollment enrollment) {
         return this.eventType == EventType.CONFIRMATIVE
-                && this.enrollments.contains(enrollment)
+                && this.isEnrollmentOfThis(enrollment)
                 && !enrollment.isAttended()
                 && enrollment.isAccepted();
     }
 
-    private List<Enrollment> getWaitingList() {
-        return this.enrollments.stream().filter(enrollment -> !enrollment.isAccepted()).collect(Collectors.toList());
-    }
-
-    public void acceptWaitingList() {
-        if (this.isAbleToAcceptWaitingEnrollment()) {
-            var waitingList = getWaitingList();
-            int numberToAccept = (int) Math.min(this.limitOfEnrollments - this.getNumberOfAcceptedEnrollments(), waitingList.size());
-            waitingList.subList(0, numberToAccept).forEach(e -> e.setAccepted(true));
-        }
-    }
-
-    public void acceptNextWaitingEnrollment() {
-        if (this.isAbleToAcceptWaitingEnrollment()) {
-            Enrollment enrollmentToAccept = this.getTheFirstWaitingEnrollment();
-            if (enrollmentToAccept != null) {
-                enrollmentToAccept.setAccepted(true);
-            }
-        }
-    }
-
-    public Enrollment getTheFirstWaitingEnrollment() {
-        for (Enrollment e : this.enrollments) {
-            if (!e.isAccepted()) {
-                return e;
-            }
-        }
-
-        return null;
-    }
-
-    public void accept(Enrollment enrollment) {
-        if (this.eventType == EventType.CONFIRMATIVE
-                && this.limitOfEnrollments > this.getNumberOfAcceptedEnrollments()) {
-            enrollment.setAccepted(true);
-        }
-    }
-
-    public void reject(Enrollment enrollment) {
-        if (this.eventType == EventType.CONFIRMATIVE) {
-            enrollment.setAccepted(false);
-        }
+    // enrollments 를 뒤지지 않고 신청 쪽의 외래 키로 확인한다.
+    private boolean isEnrollmentOfThis(Enrollment enrollment) {
+        return enrollment.getEvent() != null && this.id != null && this.id.equals(enrollment.getEvent().getId());
     }
 
 
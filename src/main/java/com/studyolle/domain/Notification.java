@@ -0,0 +1,38 @@
+package com.studyolle.domain;
+
+import com.studyolle.notification.NotificationType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.EqualsAndHashCode;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Table(indexes = {
+        @Index(name = "idx_notification_account_id", columnList = "account_id, id"),
+        @Index(name = "idx_notification_account_checked", columnList = "account_id, checked")
+})
+@Entity
+@Getter @Setter @EqualsAndHashCode(of = "id")
+public class Notification {
+
+    // 알림은 NotificationBatchWriter가 JDBC 배치로 저장하므로 DB가 id를 생성한다.
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String title;
+
+    private String link;
+
+    private String message;
+
+    private boolean checked;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Account account;
+
+    private LocalDateTime createdDateTime;
+
+    @Enumerated(EnumType.STRING)
+    private NotificationType notificationType;
+}
@@ -0,0 +1,84 @@
+package com.studyolle.domain;
+
+import com.studyolle.mail.EmailMessage;
+import com.studyolle.mail.OutboundEmailStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 아직 보내지 않은 메일을 요청 트랜잭션과 함께 저장해 두는 아웃박스
+@Table(indexes = @Index(name = "idx_outbound_email_status_next_attempt", columnList = "status, nextAttemptAt"))
+@Entity
+@Getter @Setter @EqualsAndHashCode(of = "id")
+@Builder @AllArgsConstructor @NoArgsConstructor
+public class OutboundEmail {
+
+    @Id @GeneratedValue
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    private String subject;
+
+    @Lob
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboundEmailStatus status;
+
+    private int attempts;
+
+    // 다음 전송 시도 시각. 워커가 가져간 메일은 임대 만료 시각으로 사용한다.
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    private String lastError;
+
+    public static OutboundEmail of(EmailMessage emailMessage) {
+        LocalDateTime now = LocalDateTime.now();
+        return OutboundEmail.builder()
+                .recipient(emailMessage.getTo())
+                .subject(emailMessage.getSubject())
+                .message(emailMessage.getMessage())
+                .status(OutboundEmailStatus.PENDING)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+
+    public EmailMessage toEmailMessage() {
+        return EmailMessage.builder()
+                .to(this.recipient)
+                .subject(this.subject)
+                .message(this.message)
+                .build();
+    }
+
+    public void lease(LocalDateTime until) {
+        this.nextAttemptAt = until;
+    }
+
+    public void sent() {
+        this.status = OutboundEmailStatus.SENT;
+        this.sentAt = LocalDateTime.now();
+        this.lastError = null;
+    }
+
+    public void failed(String error, int maxAttempts) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > 255 ? error.substring(0, 255) : error;
+        if (this.attempts >= maxAttempts) {
+            this.status = OutboundEmailStatus.FAILED;
+        } else {
+            // 2, 4, 8 ... 초 간격으로 다시 시도한다.
+            this.nextAttemptAt = LocalDateTime.now().plusSeconds(1L << Math.min(this.attempts, 10));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.studyolle.domain;
+
+import com.studyolle.outbox.OutboxEventStatus;
+import com.studyolle.outbox.OutboxEventType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+// 상태 변경과 같은 트랜잭션에 기록되는 도메인 이벤트. OutboxRelay가 커밋 이후에 처리한다.
+@Table(indexes = @Index(name = "idx_outbox_event_status_next_attempt", columnList = "status, nextAttemptAt"))
+@Entity
+@Getter @Setter @EqualsAndHashCode(of = "id")
+@Builder @AllArgsConstructor @NoArgsConstructor
+public class OutboxEvent {
+
+    @Id @GeneratedValue
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxEventType type;
+
+    // 이벤트가 발생한 엔티티의 id (Study, Event, Enrollment)
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxEventStatus status;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime processedAt;
+
+    private String lastError;
+
+    // 이 이벤트를 이미 처리한 처리기 이름(쉼표로 구분). 다시 시도할 때 이 처리기들은 건너뛴다.
+    private String completedHandlers;
+
+    public static OutboxEvent of(OutboxEventType type, Long aggregateId) {
+        LocalDateTime now = LocalDateTime.now();
+        return OutboxEvent.builder()
+                .type(type)
+                .aggregateId(aggregateId)
+                .status(OutboxEventStatus.PENDING)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+
+    public boolean isCompletedBy(String handler) {
+        return completedHandlers != null && Arrays.asList(completedHandlers.split(",")).contains(handler);
+    }
+
+    public void completedBy(String handler) {
+        if (!isCompletedBy(handler)) {
+            completedHandlers = completedHandlers == null ? handler : completedHandlers + "," + handler;
+        }
+    }
+
+    public void lease(LocalDateTime until) {
+        this.nextAttemptAt = until;
+    }
+
+    public void processed() {
+        this.status = OutboxEventStatus.PROCESSED;
+        this.processedAt = LocalDateTime.now();
+        this.lastError = null;
+    }
+
+    public void failed(String error, int maxAttempts) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > 255 ? error.substring(0, 255) : error;
+        if (this.attempts >= maxAttempts) {
+            this.status = OutboxEventStatus.FAILED;
+        } else {
+            this.nextAttemptAt = LocalDateTime.now().plusSeconds(1L << Math.min(this.attempts, 10));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.studyolle.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 참조 데이터 파일을 마지막으로 넣었을 때의 체크섬. 파일이 바뀌지 않았으면 다시 넣지 않는다.
+@Entity
+@Getter @Setter @EqualsAndHashCode(of = "name")
+@AllArgsConstructor @NoArgsConstructor
+public class ReferenceDataVersion {
+
+    @Id
+    private String name;
+
+    @Column(nullable = false, length = 64)
+    private String checksum;
+
+    @Column(nullable = false)
+    private LocalDateTime loadedAt;
+}
@@ -1,6 +1,8 @@
 package com.studyolle.domain;
 
 import com.studyolle.account.UserAccount;
+import com.studyolle.image.ImageStore;
+import com.studyolle.image.ImageVariant;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -41,11 +43,17 @@ import java.util.Set;
         name = "Study.withMembers",
         attributeNodes = @NamedAttributeNode("members")
 )
+@Table(indexes = {
+        @Index(name = "idx_study_published_date_time", columnList = "published, publishedDateTime, id"),
+        @Index(name = "idx_study_member_count", columnList = "published, memberCount, id")
+})
 @Entity
 @Getter @Setter @EqualsAndHashCode(of = "id")
 @Builder @AllArgsConstructor @NoArgsConstructor
 public class Study {
 
+    public static final String DEFAULT_IMAGE = "/images/default_banner.png";
+
     @Id @GeneratedValue
     private Long id;
 
@@ -62,11 +70,13 @@ public class Study {
 
     private String shortDescription;
 
-    @Lob @Basic(fetch = FetchType.EAGER)
+    // 스터디 소개 화면과 소개 수정 화면에서만 읽는다. 빌드 시 바이트코드 보강이 있어야 지연 로딩된다.
+    @Lob @Basic(fetch = FetchType.LAZY)
     private String fullDescription;
 
-    @Lob @Basic(fetch = FetchType.EAGER)
-    private String image;
+    // 배너 이미지의 SHA-256. 이미지 자체는 ImageStore 에 있다.
+    @Column(length = 64)
+    private String imageHash;
 
     @ManyToMany
     private Set<Tag> tags = new HashSet<>();
@@ -95,18 +105,21 @@ public class Study {
     }
 
     public boolean isJoinable(UserAccount userAccount) {
-        Account account = userAccount.getAccount();
         return this.isPublished() && this.isRecruiting()
-                && !this.members.contains(account) && !this.managers.contains(account);
+                && !contains(this.members, userAccount) && !contains(this.managers, userAccount);
 
     }
 
     public boolean isMember(UserAccount userAccount) {
-        return this.members.contains(userAccount.getAccount());
+        return contains(this.members, userAccount);
     }
 
     public boolean isManager(UserAccount userAccount) {
-        return this.managers.contains(userAccount.getAccount());
+        return contains(this.managers, userAccount);
+    }
+
+    private static boolean contains(Set<Account> accounts, UserAccount userAccount) {
+        return accounts.stream().anyMatch(account -> account.getId().equals(userAccount.getAccountId()));
     }
 
     public void addMemeber(Account account) {
@@ -114,7 +127,11 @@ public class Study {
     }
 
     public String getImage() {
-        return image != null ? image : "/images/default_banner.png";
+        return imageHash != null ? ImageStore.url(imageHash, ImageVariant.BANNER) : DEFAULT_IMAGE;
+    }
+
+    public String getCardImage() {
+        return imageHash != null ? ImageStore.url(imageHash, ImageVariant.CARD) : DEFAULT_IMAGE;
     }
 
     public void publish() {
@@ -1,12 +1,21 @@
 package com.studyolle.domain;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+// 지역은 시작할 때 zones_kr.csv 로 넣은 뒤 바뀌지 않으므로 읽기 전용 2차 캐시에 둔다. (hibernate-cache.conf 의 zone)
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_zone_city_province", columnNames = {"city", "province"}))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "zone")
 @Getter @Setter @EqualsAndHashCode(of = "id")
 @Builder @AllArgsConstructor @NoArgsConstructor
 public class Zone {
@@ -0,0 +1,14 @@
+package com.studyolle.event;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+// 참가 신청 확정 알림을 보낼 때 필요한 컬럼만 읽어오는 프로젝션
+public record AcceptedEnrollment(Long enrollmentId, Long accountId, String nickname, String email,
+                                 boolean notifyByWeb, boolean notifyByEmail,
+                                 Long eventId, String eventTitle, String studyPath, String studyTitle) {
+
+    public String getEventLink() {
+        return "/study/" + URLEncoder.encode(this.studyPath, StandardCharsets.UTF_8) + "/events/" + this.eventId;
+    }
+}
@@ -0,0 +1,9 @@
+package com.studyolle.event;
+
+import java.time.LocalDateTime;
+
+// 홈 화면에 보여줄 참가 신청한 모임 요약
+public record EnrolledEventSummary(Long eventId, String title, LocalDateTime startDateTime,
+                                   LocalDateTime endDateTime, String studyPath, String studyTitle,
+                                   boolean accepted) {
+}
@@ -0,0 +1,73 @@
+package com.studyolle.event;
+
+import com.studyolle.domain.Account;
+import com.studyolle.domain.Event;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/*
+ * 참가 신청과 취소를 EventService 트랜잭션 밖에서 감싸서, 잠금 대기 시간 초과나 교착 상태로 실패하면 다시 시도한다.
+ * 여러 요청이 같은 순간에 다시 몰리지 않도록 대기 시간을 두 배씩 늘리면서 무작위로 흩뜨린다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EnrollmentCoordinator {
+
+    static final int MAX_ATTEMPTS = 5;
+    private static final long BASE_BACKOFF_MILLIS = 10;
+
+    private final EventService eventService;
+    private final EnrollmentRepository enrollmentRepository;
+
+    public void newEnrollment(Event event, Account account) {
+        retry(() -> {
+            try {
+                eventService.newEnrollment(event, account);
+            } catch (DataIntegrityViolationException e) {
+                // 같은 계정의 다른 요청(중복 클릭)이 먼저 신청한 경우는 신청된 것으로 본다.
+                if (!enrollmentRepository.existsByEventAndAccount(event, account)) {
+                    throw e;
+                }
+            }
+            return null;
+        });
+    }
+
+    public void cancelEnrollment(Event event, Account account) {
+        retry(() -> {
+            eventService.cancelEnrollment(event, account);
+            return null;
+        });
+    }
+
+    private <T> T retry(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("enrollment conflict, retrying ({}/{}): {}", attempt, MAX_ATTEMPTS, e.getMessage());
+                backoff(attempt);
+            }
+        }
+    }
+
+    private static void backoff(int attempt) {
+        long max = BASE_BACKOFF_MILLIS << (attempt - 1);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(max / 2, max + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.studyolle.event;
+
+// 모임별 실제 신청 수. EventCountReconciler 가 Event 의 신청 수와 비교할 때 쓴다.
+public record EnrollmentCount(Long eventId, long accepted, long waiting) {
+}
@@ -0,0 +1,16 @@
+package com.studyolle.event;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class EnrollmentRateLimitedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public EnrollmentRateLimitedException(Duration retryAfter) {
+        super("참가 신청 요청이 너무 많습니다. 잠시 후 다시 시도하세요.");
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,59 @@
+package com.studyolle.event;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studyolle.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * 계정, 모임마다 참가 신청/취소 요청 수를 제한하는 토큰 버킷.
+ * 버킷마다 "다음 토큰이 채워지는 시각" 하나만 AtomicLong 으로 두고 CAS 로 바꾸므로(GCRA) 잠금이 없다.
+ * 버킷은 Caffeine 의 ConcurrentHashMap 에 나뉘어 들어가므로 다른 계정, 다른 모임의 요청끼리는 부딪히지 않는다.
+ */
+@Component
+public class EnrollmentRateLimiter {
+
+    private final long intervalNanos;
+    // 버킷이 가득 차 있을 때 연달아 보낼 수 있는 만큼의 여유
+    private final long toleranceNanos;
+    private final Cache<BucketKey, AtomicLong> buckets;
+    private final Counter limitedCounter;
+
+    public EnrollmentRateLimiter(AppProperties appProperties, MeterRegistry meterRegistry) {
+        AppProperties.Enrollment properties = appProperties.getEnrollment();
+        this.intervalNanos = properties.getRateLimitInterval().toNanos();
+        this.toleranceNanos = (properties.getRateLimitBurst() - 1) * intervalNanos;
+        // 마지막 요청 뒤로 버킷이 다 채워질 만큼 지나면 버킷을 지워도 결과가 같다.
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofNanos(toleranceNanos + intervalNanos))
+                .build();
+        this.limitedCounter = meterRegistry.counter("enrollment.rate.limited");
+    }
+
+    // 토큰이 없으면 EnrollmentRateLimitedException 을 던진다.
+    public void acquire(Long accountId, Long eventId) {
+        AtomicLong theoreticalArrival = buckets.get(new BucketKey(accountId, eventId), key -> new AtomicLong(System.nanoTime()));
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrival.get();
+            long wait = current - toleranceNanos - now;
+            if (wait > 0) {
+                limitedCounter.increment();
+                throw new EnrollmentRateLimitedException(Duration.ofNanos(wait));
+            }
+            long next = (current - now > 0 ? current : now) + intervalNanos;
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    private record BucketKey(Long accountId, Long eventId) {
+    }
+}
@@ -3,12 +3,49 @@ package com.studyolle.event;
 import com.studyolle.domain.Account;
 import com.studyolle.domain.Enrollment;
 import com.studyolle.domain.Event;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Transactional(readOnly = true)
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     boolean existsByEventAndAccount(Event event, Account account);
 
     Enrollment findByEventAndAccount(Event event, Account account);
+
+    // idx_enrollment_waiting 을 따라 대기 순서대로 앞에서부터 읽는다.
+    @Query("select en.id from Enrollment en where en.event.id = :eventId and en.accepted = false " +
+            "order by en.enrolledAt, en.id")
+    List<Long> findWaitingIds(@Param("eventId") Long eventId, Pageable pageable);
+
+    @Query("select new com.studyolle.event.EnrollmentCount(en.event.id, " +
+            "sum(case when en.accepted = true then 1 else 0 end), sum(case when en.accepted = false then 1 else 0 end)) " +
+            "from Enrollment en where en.event.id in :eventIds group by en.event.id")
+    List<EnrollmentCount> countByEventIds(@Param("eventIds") Collection<Long> eventIds);
+
+    // 알림을 보내기 전에 취소된 신청은 빠진다.
+    @Query("select new com.studyolle.event.AcceptedEnrollment(en.id, a.id, a.nickname, a.email, " +
+            "a.studyEnrollmentResultByWeb, a.studyEnrollmentResultByEmail, e.id, e.title, s.path, s.title) " +
+            "from Enrollment en join en.account a join en.event e join e.study s " +
+            "where en.id in :ids and en.accepted = true")
+    List<AcceptedEnrollment> findAcceptedByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("update Enrollment en set en.accepted = true where en.id in :ids and en.accepted = false")
+    int acceptAll(@Param("ids") Collection<Long> ids);
+
+
+    @Query("select new com.studyolle.event.EnrolledEventSummary(e.id, e.title, e.startDateTime, e.endDateTime, " +
+            "s.path, s.title, en.accepted) from Enrollment en join en.event e join e.study s " +
+            "where en.account.id = :accountId and e.endDateTime > :now order by e.startDateTime, e.id")
+    List<EnrolledEventSummary> findUpcomingSummaries(@Param("accountId") Long accountId,
+                                                     @Param("now") LocalDateTime now, Pageable pageable);
 }
@@ -1,33 +1,48 @@
 package com.studyolle.event;
 
+import com.studyolle.account.CurrentAccount;
 import com.studyolle.account.CurrentUser;
+import com.studyolle.account.UserAccount;
 import com.studyolle.domain.Account;
 import com.studyolle.domain.Event;
 import com.studyolle.domain.Study;
 import com.studyolle.event.form.EventForm;
 import com.studyolle.event.validator.EventValidator;
+import com.studyolle.study.StudyRef;
 import com.studyolle.study.StudyRepository;
 import com.studyolle.study.StudyService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.Errors;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 @Controller
 @RequestMapping("/study/{path}")
 @RequiredArgsConstructor
 public class EventController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final StudyService studyService;
     private final EventService eventService;
+    private final EnrollmentCoordinator enrollmentCoordinator;
+    private final EnrollmentRateLimiter enrollmentRateLimiter;
+    private final IdempotencyKeys idempotencyKeys;
+    private final CurrentAccount currentAccount;
     private final StudyRepository studyRepository;
     private final EventRepository eventRepository;
 
@@ -65,7 +80,9 @@ public class EventController {
     public String getEvent(@CurrentUser Account account, @PathVariable String path, @PathVariable Long id, Model model) {
         model.addAttribute(account);
         model.addAttribute(studyRepository.findStudyWithManagersByPath(path));
-        model.addAttribute(eventRepository.findById(id).orElseThrow());
+        model.addAttribute(findEvent(id));
+        // 참가 신청/취소 폼을 여러 번 보내도 한 번만 처리하도록 화면을 열 때마다 새 키를 준다.
+        model.addAttribute("idempotencyKey", UUID.randomUUID().toString());
         return "event/view";
     }
 
@@ -122,23 +139,66 @@ public class EventController {
 
     @PostMapping("/events/{id}/delete")
     public String cancelEvent(@CurrentUser Account account, @PathVariable String path, @PathVariable("id") Event event) {
-        Study study = studyService.getStudyToUpdateStatus(account, path);
+        StudyRef study = studyService.getStudyRefToManage(account, path);
         eventService.deleteEvent(event);
         return "redirect:/study/" + study.getEncodedPath() + "/events";
     }
 
+    // 요청 수 제한과 중복 요청 확인은 DB 를 읽기 전에 한다. 계정은 읽지 않고 참조만 넘긴다.
     @PostMapping("/events/{id}/enroll")
-    public String newEnrollment(@CurrentUser Account account, @PathVariable String path, @PathVariable("id") Event event) {
-        Study study = studyService.getStudyToEnroll(path);
-        eventService.newEnrollment(event, account);
-        return "redirect:/study/" + study.getEncodedPath() + "/events/" + event.getId();
+    public String newEnrollment(@CurrentUser UserAccount userAccount, @PathVariable String path, @PathVariable Long id,
+                                @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKeyHeader,
+                                @RequestParam(required = false) String idempotencyKey) {
+        return idempotencyKeys.execute(userAccount.getAccountId(), "enroll", firstNonNull(idempotencyKeyHeader, idempotencyKey), () -> {
+            enrollmentRateLimiter.acquire(userAccount.getAccountId(), id);
+            StudyRef study = studyService.getStudyToEnroll(path);
+            Event event = findEvent(id);
+            enrollmentCoordinator.newEnrollment(event, currentAccount.reference());
+            return "redirect:/study/" + study.getEncodedPath() + "/events/" + event.getId();
+        });
     }
 
     @PostMapping("/events/{id}/disenroll")
-    public String cancelEnrollment(@CurrentUser Account account, @PathVariable String path, @PathVariable("id") Event event) {
-        Study study = studyService.getStudyToEnroll(path);
-        eventService.cancelEnrollment(event, account);
-        return "redirect:/study/" + study.getEncodedPath() + "/events/" + event.getId();
+    public String cancelEnrollment(@CurrentUser UserAccount userAccount, @PathVariable String path, @PathVariable Long id,
+                                   @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKeyHeader,
+                                   @RequestParam(required = false) String idempotencyKey) {
+        return idempotencyKeys.execute(userAccount.getAccountId(), "disenroll", firstNonNull(idempotencyKeyHeader, idempotencyKey), () -> {
+            enrollmentRateLimiter.acquire(userAccount.getAccountId(), id);
+            StudyRef study = studyService.getStudyToEnroll(path);
+            Event event = findEvent(id);
+            enrollmentCoordinator.cancelEnrollment(event, currentAccount.reference());
+            return "redirect:/study/" + study.getEncodedPath() + "/events/" + event.getId();
+        });
+    }
+
+    // 트랜잭션을 열기 전에 돌려보내서 DB 에 요청이 쌓이지 않게 한다.
+    @ExceptionHandler(EnrollmentRateLimitedException.class)
+    public ResponseEntity<String> tooManyEnrollmentRequests(EnrollmentRateLimitedException e) {
+        long seconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+                .body(e.getMessage());
+    }
+
+    // 같은 키로 먼저 온 요청이 아직 끝나지 않았다. 같은 요청을 두 번 처리하지 않도록 처리하지 않고 돌려보낸다.
+    @ExceptionHandler(IdempotentRequestInProgressException.class)
+    public ResponseEntity<String> idempotentRequestInProgress(IdempotentRequestInProgressException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .body(e.getMessage());
+    }
+
+    @ExceptionHandler(EventNotFoundException.class)
+    public void eventNotFound(HttpServletResponse response) throws IOException {
+        response.sendError(HttpServletResponse.SC_NOT_FOUND);
+    }
+
+    private Event findEvent(Long id) {
+        return eventRepository.findById(id).orElseThrow(() -> new EventNotFoundException(id));
+    }
+
+    private static String firstNonNull(String first, String second) {
+        return first != null ? first : second;
     }
 }
 
@@ -0,0 +1,86 @@
+package com.studyolle.event;
+
+import com.studyolle.domain.Event;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+ * Event 의 acceptedCount, waitingCount 를 enrollment 테이블과 비교해서 어긋난 값을 바로잡는다.
+ * 카운터가 생기기 전에 만든 모임도 처음 실행할 때 채워진다.
+ * 모임을 배치 단위로 잠그고 세므로, 그 사이에 들어온 신청이나 취소와 섞이지 않는다.
+ */
+@Slf4j
+@Component
+public class EventCountReconciler {
+
+    static final int BATCH_SIZE = 100;
+
+    private final EventRepository eventRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter correctedCounter;
+
+    public EventCountReconciler(EventRepository eventRepository, EnrollmentRepository enrollmentRepository,
+                                TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.correctedCounter = meterRegistry.counter("event.counts.corrected");
+    }
+
+    @Scheduled(initialDelayString = "${app.event.reconcile-initial-delay-millis:10000}",
+            fixedDelayString = "${app.event.reconcile-interval-millis:3600000}")
+    public void reconcile() {
+        long lastId = 0;
+        int corrected = 0;
+        while (true) {
+            long after = lastId;
+            BatchResult result = transactionTemplate.execute(status -> reconcileBatch(after));
+            if (result == null || result.lastId() == after) {
+                break;
+            }
+            corrected += result.corrected();
+            lastId = result.lastId();
+        }
+        if (corrected > 0) {
+            log.warn("corrected enrollment counts of {} events", corrected);
+        }
+    }
+
+    private BatchResult reconcileBatch(long afterId) {
+        List<Event> events = eventRepository.findForUpdateAfter(afterId, PageRequest.of(0, BATCH_SIZE));
+        if (events.isEmpty()) {
+            return new BatchResult(afterId, 0);
+        }
+
+        Map<Long, EnrollmentCount> counts = enrollmentRepository
+                .countByEventIds(events.stream().map(Event::getId).collect(Collectors.toList()))
+                .stream().collect(Collectors.toMap(EnrollmentCount::eventId, Function.identity()));
+
+        int corrected = 0;
+        for (Event event : events) {
+            EnrollmentCount count = counts.getOrDefault(event.getId(), new EnrollmentCount(event.getId(), 0, 0));
+            if (event.getAcceptedCount() != count.accepted() || event.getWaitingCount() != count.waiting()) {
+                log.debug("event {} counts {}/{} corrected to {}/{}", event.getId(),
+                        event.getAcceptedCount(), event.getWaitingCount(), count.accepted(), count.waiting());
+                eventRepository.updateCounts(event.getId(), (int) count.accepted(), (int) count.waiting());
+                correctedCounter.increment();
+                corrected++;
+            }
+        }
+        return new BatchResult(events.get(events.size() - 1).getId(), corrected);
+    }
+
+    private record BatchResult(long lastId, int corrected) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.studyolle.event;
+
+public class EventNotFoundException extends RuntimeException {
+
+    public EventNotFoundException(Long id) {
+        super(id + "에 해당하는 모임이 없습니다.");
+    }
+}
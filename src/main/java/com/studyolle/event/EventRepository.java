@@ -2,8 +2,13 @@ package com.studyolle.event;
 
 import com.studyolle.domain.Event;
 import com.studyolle.domain.Study;
-import org.springframework.data.jpa.repository.EntityGraph;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -11,6 +16,53 @@ import java.util.List;
 @Transactional(readOnly = true)
 public interface EventRepository extends JpaRepository<Event, Long> {
 
-    @EntityGraph(value = "Event.withEnrollments", type = EntityGraph.EntityGraphType.LOAD)
+    // 목록 화면은 남은 자리를 acceptedCount 로 보여주므로 enrollments 를 함께 읽지 않는다.
     List<Event> findByStudyOrderByStartDateTime(Study study);
+
+    // 신청 수를 바꾸는 동안 다른 요청이 같은 모임의 신청을 바꾸지 못하도록 잠근다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Event e where e.id = :id")
+    Event findForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Event e where e.id > :afterId order by e.id")
+    List<Event> findForUpdateAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 자리가 남아 있을 때만 확정 인원을 늘린다. 1 이면 자리를 잡은 것이다.
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.acceptedCount = e.acceptedCount + 1 " +
+            "where e.id = :id and e.acceptedCount < e.limitOfEnrollments")
+    int incrementAcceptedCount(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.acceptedCount = e.acceptedCount - 1 where e.id = :id and e.acceptedCount > 0")
+    int decrementAcceptedCount(@Param("id") Long id);
+
+    // 엔티티가 아닌 값으로 읽으므로 영속성 컨텍스트에 있는 오래된 Event 가 아니라 DB 의 현재 값을 돌려준다.
+    @Query("select e.limitOfEnrollments - e.acceptedCount from Event e where e.id = :id")
+    int findRemainSpots(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.acceptedCount = e.acceptedCount + :count, " +
+            "e.waitingCount = e.waitingCount - :count where e.id = :id")
+    int moveWaitingToAccepted(@Param("id") Long id, @Param("count") int count);
+
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.waitingCount = e.waitingCount + 1 where e.id = :id")
+    int incrementWaitingCount(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.waitingCount = e.waitingCount - 1 where e.id = :id and e.waitingCount > 0")
+    int decrementWaitingCount(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.acceptedCount = :acceptedCount, e.waitingCount = :waitingCount where e.id = :id")
+    int updateCounts(@Param("id") Long id, @Param("acceptedCount") int acceptedCount,
+                     @Param("waitingCount") int waitingCount);
 }
@@ -1,17 +1,23 @@
 package com.studyolle.event;
 
+import com.studyolle.config.CacheConfig;
 import com.studyolle.domain.Account;
 import com.studyolle.domain.Enrollment;
 import com.studyolle.domain.Event;
 import com.studyolle.domain.Study;
 import com.studyolle.event.form.EventForm;
+import com.studyolle.outbox.DomainEventOutbox;
+import com.studyolle.outbox.OutboxEventType;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @Transactional
@@ -21,45 +27,85 @@ public class EventService {
     private final EventRepository eventRepository;
     private final ModelMapper modelMapper;
     private final EnrollmentRepository enrollmentRentRepository;
+    private final DomainEventOutbox domainEventOutbox;
 
     public Event createEvent(Study study, Event event, Account account) {
         event.setStudy(study);
         event.setCreatedBy(account);
         event.setCreateDateTime(LocalDateTime.now());
 
-        return eventRepository.save(event);
+        Event newEvent = eventRepository.save(event);
+        domainEventOutbox.append(OutboxEventType.EVENT_CREATED, newEvent.getId());
+        return newEvent;
     }
 
     public void updateEvent(Event event, EventForm eventForm) {
         modelMapper.map(eventForm, event);
-        event.acceptWaitingList();
+        // 모집 인원이 늘었으면 늘어난 만큼 대기 중인 신청을 확정한다.
+        eventRepository.findForUpdate(event.getId());
+        acceptWaitingEnrollments(event);
     }
 
     public void deleteEvent(Event event) {
         eventRepository.delete(event);
     }
 
+    /*
+     * 선착순 모임의 확정 여부는 메모리의 신청 목록이 아니라 acceptedCount 의 조건부 UPDATE 로 정한다.
+     * 같은 계정의 중복 신청은 유니크 제약 조건에 걸려 롤백되고, 그때 늘린 acceptedCount 도 함께 되돌아간다.
+     */
+    @CacheEvict(cacheNames = CacheConfig.HOME_FEED, key = "#account.id")
     public void newEnrollment(Event event, Account account) {
         if(!enrollmentRentRepository.existsByEventAndAccount(event, account)) {
             Enrollment enrollment = new Enrollment();
             enrollment.setEnrolledAt(LocalDateTime.now());
-            enrollment.setAccepted(event.isAbleToAcceptWaitingEnrollment());
+            enrollment.setAccepted(event.getEventType() == EventType.FCFS
+                    && eventRepository.incrementAcceptedCount(event.getId()) == 1);
+            if (!enrollment.isAccepted()) {
+                eventRepository.incrementWaitingCount(event.getId());
+            }
             enrollment.setAccount(account);
             enrollment.setEvent(event);
-            enrollmentRentRepository.save(enrollment);
+            enrollmentRentRepository.saveAndFlush(enrollment);
         }
     }
 
+    @CacheEvict(cacheNames = CacheConfig.HOME_FEED, key = "#account.id")
     public void cancelEnrollment(Event event, Account account) {
+        // 신청을 바꾸는 모든 경로가 모임 행을 먼저 잠그므로, 읽은 신청의 확정 여부가 그 사이에 바뀌지 않는다.
+        eventRepository.findForUpdate(event.getId());
         Enrollment enrollment = enrollmentRentRepository.findByEventAndAccount(event, account);
-        event.removeEnrollment(enrollment);
+        if (enrollment == null) {
+            return;
+        }
         enrollmentRentRepository.delete(enrollment);
 
-        if(event.isAbleToAcceptWaitingEnrollment()) {
-            Enrollment enrollmentToAccept = event.getTheFirstWaitingEnrollment();
-            if(enrollmentToAccept != null) {
-                enrollmentToAccept.setAccepted(true);
-            }
+        if (enrollment.isAccepted()) {
+            eventRepository.decrementAcceptedCount(event.getId());
+            acceptWaitingEnrollments(event);
+        } else {
+            eventRepository.decrementWaitingCount(event.getId());
+        }
+    }
+
+    /*
+     * 남은 자리만큼 먼저 신청한 순서대로 대기 중인 신청을 한 번의 UPDATE 로 확정한다.
+     * 호출하는 쪽에서 모임 행을 잠가 두므로 그 사이에 대기 순서나 남은 자리가 바뀌지 않는다.
+     */
+    private void acceptWaitingEnrollments(Event event) {
+        if (event.getEventType() != EventType.FCFS) {
+            return;
+        }
+        int remainSpots = eventRepository.findRemainSpots(event.getId());
+        if (remainSpots <= 0) {
+            return;
+        }
+        List<Long> enrollmentIds = enrollmentRentRepository.findWaitingIds(event.getId(), PageRequest.of(0, remainSpots));
+        if (enrollmentIds.isEmpty()) {
+            return;
         }
+        enrollmentRentRepository.acceptAll(enrollmentIds);
+        eventRepository.moveWaitingToAccepted(event.getId(), enrollmentIds.size());
+        enrollmentIds.forEach(id -> domainEventOutbox.append(OutboxEventType.ENROLLMENT_ACCEPTED, id));
     }
 }
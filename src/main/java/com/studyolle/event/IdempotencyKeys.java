@@ -0,0 +1,69 @@
+package com.studyolle.event;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studyolle.config.AppProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/*
+ * 클라이언트가 보낸 Idempotency-Key 로 같은 요청을 한 번만 처리한다.
+ * 처음 요청이 끝나기 전에 같은 키로 다시 오면 처음 요청이 끝나기를 기다렸다가 같은 응답을 돌려준다.
+ * 정해진 시간 안에 끝나지 않으면 기다리던 요청은 IdempotentRequestInProgressException 으로 돌려보낸다.
+ * 처음 요청이 실패하면 키를 지워서 같은 키로 다시 시도할 수 있게 한다.
+ */
+@Component
+public class IdempotencyKeys {
+
+    private static final Pattern KEY = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final Cache<String, CompletableFuture<String>> responses;
+    private final Duration wait;
+
+    public IdempotencyKeys(AppProperties appProperties) {
+        this.wait = appProperties.getEnrollment().getIdempotencyKeyWait();
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(appProperties.getEnrollment().getIdempotencyKeyTtl())
+                .build();
+    }
+
+    // 키가 없거나 형식이 맞지 않으면 그냥 처리한다. 키는 계정마다 따로 본다.
+    public String execute(Long accountId, String action, String key, Supplier<String> request) {
+        if (key == null || !KEY.matcher(key).matches()) {
+            return request.get();
+        }
+        String scopedKey = accountId + ":" + action + ":" + key;
+        CompletableFuture<String> created = new CompletableFuture<>();
+        CompletableFuture<String> existing = responses.asMap().putIfAbsent(scopedKey, created);
+        if (existing != null) {
+            try {
+                return existing.get(wait.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+            } catch (TimeoutException e) {
+                throw new IdempotentRequestInProgressException(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IdempotentRequestInProgressException(wait);
+            }
+        }
+
+        try {
+            String response = request.get();
+            created.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            responses.invalidate(scopedKey);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+}
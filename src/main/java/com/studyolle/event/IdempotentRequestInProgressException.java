@@ -0,0 +1,17 @@
+package com.studyolle.event;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+// 같은 Idempotency-Key 로 먼저 온 요청이 정해진 시간 안에 끝나지 않았다.
+@Getter
+public class IdempotentRequestInProgressException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public IdempotentRequestInProgressException(Duration retryAfter) {
+        super("같은 요청을 아직 처리하고 있습니다. 잠시 후 다시 시도하세요.");
+        this.retryAfter = retryAfter;
+    }
+}
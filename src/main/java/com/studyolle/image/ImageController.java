@@ -0,0 +1,123 @@
+package com.studyolle.image;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+@Controller
+@RequiredArgsConstructor
+public class ImageController {
+
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final String FALLBACK_CACHE_CONTROL = "public, max-age=60";
+
+    // 톰캣 NIO 커넥터가 sendfile 을 지원하면 응답 본문을 커널이 직접 보낸다.
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ImageStore imageStore;
+    private final ImageVariants imageVariants;
+
+    // 이미지 내용이 바뀌면 해시도 바뀌므로 ETag 는 해시 그대로 쓰고 영구 캐시를 허용한다.
+    @GetMapping(ImageStore.URL_PREFIX + "{hash:[0-9a-f]{64}}")
+    public void image(@PathVariable String hash, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        send("\"" + hash + "\"", imageStore.pathOf(hash), request, response);
+    }
+
+    // 크기별 이미지. 아직 만들지 못했으면 원본을 보내되 캐시는 짧게 한다.
+    @GetMapping(ImageStore.URL_PREFIX + "{hash:[0-9a-f]{64}}/{variant:[a-z]+}")
+    public void variant(@PathVariable String hash, @PathVariable String variant,
+                        HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImageVariant imageVariant = ImageVariant.fromPath(variant);
+        if (imageVariant == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String etag = "\"" + hash + "-" + variant + "\"";
+        if (notModified(etag, request, response)) {
+            return;
+        }
+
+        Path path = imageVariants.get(hash, imageVariant);
+        if (path == null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, FALLBACK_CACHE_CONTROL);
+            send(null, imageStore.pathOf(hash), request, response);
+            return;
+        }
+        send(etag, path, request, response);
+    }
+
+    // 잘못된 해시는 없는 이미지와 같이 404 로 응답한다.
+    @ExceptionHandler(InvalidImageException.class)
+    public void invalidImage(HttpServletResponse response) throws IOException {
+        response.sendError(HttpServletResponse.SC_NOT_FOUND);
+    }
+
+    private boolean notModified(String etag, HttpServletRequest request, HttpServletResponse response) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            return true;
+        }
+        return false;
+    }
+
+    // etag 가 null 이면 ETag 와 영구 캐시 헤더를 붙이지 않는다.
+    private void send(String etag, Path path, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (etag != null && notModified(etag, request, response)) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(ImageType.SIGNATURE_LENGTH);
+            channel.read(header, 0);
+            ImageType type = ImageType.detect(Arrays.copyOf(header.array(), header.position()));
+
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(type != null ? type.getContentType() : "application/octet-stream");
+            response.setContentLengthLong(size);
+            if (etag != null) {
+                response.setHeader(HttpHeaders.ETAG, etag);
+                response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            }
+            response.setHeader("X-Content-Type-Options", "nosniff");
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, size);
+                return;
+            }
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        } catch (NoSuchFileException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+        }
+    }
+}
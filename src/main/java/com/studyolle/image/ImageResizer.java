@@ -0,0 +1,133 @@
+package com.studyolle.image;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+// ImageIO 로 원본을 읽어 ImageVariant 크기에 맞게 줄이고 JPEG 으로 쓴다.
+final class ImageResizer {
+
+    // 압축을 풀면 수 GB 가 되는 이미지를 막기 위한 상한
+    private static final long MAX_PIXELS = 40_000_000L;
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private ImageResizer() {
+    }
+
+    static void resize(Path original, ImageVariant variant, OutputStream out) throws IOException {
+        BufferedImage source = read(original);
+        BufferedImage resized = variant.getHeight() > 0
+                ? fill(source, variant.getWidth(), variant.getHeight())
+                : fitWidth(source, variant.getWidth());
+        writeJpeg(resized, out);
+    }
+
+    // 형식을 지원하지 않거나 디코딩에 실패하면 UnsupportedImageException, 파일을 읽지 못하면 IOException 을 던진다.
+    private static BufferedImage read(Path original) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            if (input == null) {
+                throw new IOException("cannot open " + original.getFileName());
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new UnsupportedImageException("no image reader for " + original.getFileName());
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > MAX_PIXELS) {
+                    throw new UnsupportedImageException("image is too large: " + pixels + " pixels");
+                }
+                return reader.read(0);
+            } catch (IIOException | RuntimeException e) {
+                // 깨진 이미지는 리더가 IIOException 이나 런타임 예외로 알린다. 파일을 읽다 난 오류를 감싼 것은 그대로 던진다.
+                if (e.getCause() instanceof IOException cause && !(cause instanceof IIOException)) {
+                    throw cause;
+                }
+                throw new UnsupportedImageException("cannot decode " + original.getFileName() + ": " + e.getMessage(), e);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 가로 폭에 맞춰 비율대로 줄인다. 원본이 더 작으면 키우지 않는다.
+    private static BufferedImage fitWidth(BufferedImage source, int width) {
+        if (source.getWidth() <= width) {
+            return scale(source, 0, 0, source.getWidth(), source.getHeight(), source.getWidth(), source.getHeight());
+        }
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        return scale(source, 0, 0, source.getWidth(), source.getHeight(), width, height);
+    }
+
+    // 목표 비율에 맞게 가운데를 잘라낸 뒤 줄인다.
+    private static BufferedImage fill(BufferedImage source, int width, int height) {
+        double ratio = (double) width / height;
+        int cropWidth = source.getWidth();
+        int cropHeight = (int) Math.round(cropWidth / ratio);
+        if (cropHeight > source.getHeight()) {
+            cropHeight = source.getHeight();
+            cropWidth = (int) Math.round(cropHeight * ratio);
+        }
+        int x = (source.getWidth() - cropWidth) / 2;
+        int y = (source.getHeight() - cropHeight) / 2;
+        return scale(source, x, y, cropWidth, cropHeight, width, height);
+    }
+
+    /*
+     * 한 번에 크게 줄이면 계단 현상이 생겨서 절반씩 여러 번 줄인다.
+     * JPEG 은 투명도를 지원하지 않으므로 흰 배경 위에 그린다.
+     */
+    private static BufferedImage scale(BufferedImage source, int x, int y, int w, int h, int width, int height) {
+        BufferedImage current = source.getSubimage(x, y, w, h);
+        int currentWidth = w;
+        int currentHeight = h;
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            if (currentWidth == width || currentHeight == height) {
+                currentWidth = width;
+                currentHeight = height;
+            }
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, currentWidth, currentHeight, Color.WHITE, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    private static void writeJpeg(BufferedImage image, OutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
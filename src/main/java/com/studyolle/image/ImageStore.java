@@ -0,0 +1,143 @@
+package com.studyolle.image;
+
+import com.studyolle.config.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/*
+ * 이미지를 내용의 SHA-256 으로 이름 붙여 로컬 디스크에 저장한다.
+ * 같은 이미지는 한 번만 저장되고 한 번 저장된 파일은 바뀌지 않으므로 브라우저가 영구히 캐시해도 된다.
+ * 엔티티에는 해시만 저장하고, 화면에서는 url(hash) 로 내려준다.
+ */
+@Slf4j
+@Component
+public class ImageStore {
+
+    public static final String URL_PREFIX = "/image/";
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final long maxSize;
+
+    public ImageStore(AppProperties appProperties) {
+        this.root = appProperties.getImage().getStoreDir();
+        this.maxSize = appProperties.getImage().getMaxSize().toBytes();
+    }
+
+    public static String url(String hash) {
+        return hash == null ? null : URL_PREFIX + hash;
+    }
+
+    public static String url(String hash, ImageVariant variant) {
+        return hash == null ? null : URL_PREFIX + hash + "/" + variant.path();
+    }
+
+    public static boolean isHash(String value) {
+        return value != null && HASH.matcher(value).matches();
+    }
+
+    /*
+     * 폼에서 넘어온 이미지 값을 해시로 바꾼다.
+     * data URL 이면 새로 저장하고, 이미 저장된 이미지의 url 이면 그 해시를, 비어 있으면 null 을 돌려준다.
+     */
+    public String resolve(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        if (value.startsWith(URL_PREFIX)) {
+            // 크기별 이미지 url(/image/{hash}/{variant})이 넘어와도 원본 해시를 쓴다.
+            String rest = value.substring(URL_PREFIX.length());
+            String hash = rest.indexOf('/') < 0 ? rest : rest.substring(0, rest.indexOf('/'));
+            if (isHash(hash)) {
+                return hash;
+            }
+        }
+        return storeDataUrl(value);
+    }
+
+    // data:image/png;base64,.... 형식만 받는다.
+    public String storeDataUrl(String dataUrl) {
+        int comma = dataUrl.indexOf(',');
+        if (!dataUrl.startsWith("data:") || comma < 0 || !dataUrl.substring(0, comma).endsWith(";base64")) {
+            throw new InvalidImageException("이미지는 base64 data URL 형식이어야 합니다.");
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getMimeDecoder().decode(dataUrl.substring(comma + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidImageException("이미지는 base64 data URL 형식이어야 합니다.", e);
+        }
+        return store(bytes);
+    }
+
+    public String store(byte[] bytes) {
+        if (bytes.length > maxSize) {
+            throw new InvalidImageException("이미지 크기는 " + maxSize + " 바이트를 넘을 수 없습니다.");
+        }
+        if (ImageType.detect(bytes) == null) {
+            throw new InvalidImageException("지원하지 않는 이미지 형식입니다.");
+        }
+
+        String hash = sha256(bytes);
+        Path target = pathOf(hash);
+        if (Files.exists(target)) {
+            return hash;
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            // 다 쓴 다음에 옮겨서, 읽는 쪽이 쓰다 만 파일을 보지 않게 한다.
+            Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+            try {
+                Files.write(temp, bytes);
+                moveIntoPlace(temp, target);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return hash;
+    }
+
+    // 해시 앞 네 글자로 두 단계 디렉터리를 나눠서 한 디렉터리에 파일이 몰리지 않게 한다.
+    public Path pathOf(String hash) {
+        if (!isHash(hash)) {
+            throw new InvalidImageException("잘못된 이미지 해시입니다.");
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(temp, target);
+            } catch (FileAlreadyExistsException ignored) {
+                // 같은 이미지를 동시에 올린 경우. 내용이 같으므로 먼저 저장된 파일을 쓴다.
+            }
+        } catch (FileAlreadyExistsException ignored) {
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.studyolle.image;
+
+// 파일 앞부분의 시그니처로 이미지 형식을 판별한다. 업로드할 때 받은 Content-Type 은 믿지 않는다.
+public enum ImageType {
+
+    PNG("image/png"),
+    JPEG("image/jpeg"),
+    GIF("image/gif"),
+    WEBP("image/webp");
+
+    public static final int SIGNATURE_LENGTH = 12;
+
+    private final String contentType;
+
+    ImageType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static ImageType detect(byte[] header) {
+        if (startsWith(header, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return PNG;
+        }
+        if (startsWith(header, 0, 0xFF, 0xD8, 0xFF)) {
+            return JPEG;
+        }
+        if (startsWith(header, 0, 'G', 'I', 'F', '8')) {
+            return GIF;
+        }
+        if (startsWith(header, 0, 'R', 'I', 'F', 'F') && startsWith(header, 8, 'W', 'E', 'B', 'P')) {
+            return WEBP;
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] bytes, int offset, int... signature) {
+        if (bytes.length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((bytes[offset + i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,42 @@
+package com.studyolle.image;
+
+// 업로드한 이미지에서 미리 만들어 두는 크기별 이미지. 모두 JPEG 으로 만든다.
+public enum ImageVariant {
+
+    // 네비게이션 바, 참석자 목록 등의 작은 프로필 이미지. 가운데를 정사각형으로 잘라 쓴다.
+    AVATAR(64, 64),
+    // 스터디 목록 카드
+    CARD(350, 0),
+    // 스터디 상단 배너
+    BANNER(1000, 0);
+
+    private final int width;
+    // 0 이면 원본 비율을 유지한다.
+    private final int height;
+
+    ImageVariant(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public String path() {
+        return name().toLowerCase();
+    }
+
+    public static ImageVariant fromPath(String path) {
+        for (ImageVariant variant : values()) {
+            if (variant.path().equals(path)) {
+                return variant;
+            }
+        }
+        return null;
+    }
+}
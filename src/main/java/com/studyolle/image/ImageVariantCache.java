@@ -0,0 +1,152 @@
+package com.studyolle.image;
+
+import com.studyolle.config.AppProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/*
+ * 크기별 이미지 파일을 디스크에 두는 캐시. 원본은 ImageStore 에 있으므로 언제 지워도 다시 만들 수 있다.
+ * 전체 크기가 설정값을 넘으면 가장 오래 쓰지 않은 파일부터 지운다.
+ */
+@Slf4j
+@Component
+public class ImageVariantCache {
+
+    private final Path root;
+    private final long maxBytes;
+
+    // 접근 순서로 정렬된 파일 목록. 맨 앞이 가장 오래 쓰지 않은 파일이다.
+    private final LinkedHashMap<Path, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+    // synchronized 는 가상 스레드를 캐리어 스레드에 고정시키므로 잠금 객체를 쓴다. 잠금 안에서는 파일을 다루지 않는다.
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public ImageVariantCache(AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.root = appProperties.getImage().getStoreDir().resolve("variants");
+        this.maxBytes = appProperties.getImage().getVariantCacheSize().toBytes();
+        load();
+        Gauge.builder("image.variant.cache.size", this, ImageVariantCache::size)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public Path pathOf(String hash, ImageVariant variant) {
+        return root.resolve(variant.path()).resolve(hash + ".jpg");
+    }
+
+    // 캐시에 있으면 경로를, 없으면 null 을 돌려준다.
+    public Path get(String hash, ImageVariant variant) {
+        Path path = pathOf(hash, variant);
+        lock.lock();
+        try {
+            if (entries.get(path) == null) {
+                return null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (!Files.exists(path)) {
+            lock.lock();
+            try {
+                Long size = entries.remove(path);
+                if (size != null) {
+                    totalBytes -= size;
+                }
+            } finally {
+                lock.unlock();
+            }
+            return null;
+        }
+        return path;
+    }
+
+    // 다 쓴 임시 파일을 캐시에 넣는다.
+    public Path put(String hash, ImageVariant variant, Path temp) throws IOException {
+        Path path = pathOf(hash, variant);
+        Files.createDirectories(path.getParent());
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        long size = Files.size(path);
+
+        List<Path> evicted = new ArrayList<>();
+        lock.lock();
+        try {
+            Long previous = entries.put(path, size);
+            totalBytes += size - (previous != null ? previous : 0);
+            Iterator<Map.Entry<Path, Long>> iterator = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && iterator.hasNext()) {
+                Map.Entry<Path, Long> eldest = iterator.next();
+                if (eldest.getKey().equals(path)) {
+                    continue;
+                }
+                totalBytes -= eldest.getValue();
+                evicted.add(eldest.getKey());
+                iterator.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Path file : evicted) {
+            Files.deleteIfExists(file);
+        }
+        return path;
+    }
+
+    public Path createTempFile(ImageVariant variant) throws IOException {
+        Path dir = root.resolve(variant.path());
+        Files.createDirectories(dir);
+        return Files.createTempFile(dir, "variant", ".tmp");
+    }
+
+    private long size() {
+        lock.lock();
+        try {
+            return totalBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 재시작해도 캐시를 이어서 쓰도록 디렉터리를 읽어 마지막 수정 시각 순으로 채운다.
+    private void load() {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            files.filter(file -> file.getFileName().toString().endsWith(".jpg"))
+                    .map(file -> Map.entry(file, attributes(file)))
+                    .sorted(Comparator.comparing(entry -> entry.getValue().lastModifiedTime()))
+                    .forEach(entry -> {
+                        entries.put(entry.getKey(), entry.getValue().size());
+                        totalBytes += entry.getValue().size();
+                    });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("image variant cache loaded: {} files, {} bytes", entries.size(), totalBytes);
+    }
+
+    private static BasicFileAttributes attributes(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
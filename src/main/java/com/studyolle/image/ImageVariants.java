@@ -0,0 +1,142 @@
+package com.studyolle.image;
+
+import com.studyolle.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/*
+ * 원본 이미지에서 크기별 이미지를 만든다.
+ * 업로드할 때 워커 풀에 미리 만들어 두고, 예전에 올린 이미지처럼 아직 없으면 처음 요청될 때 만든다.
+ * 같은 이미지를 동시에 요청해도 한 번만 만든다.
+ */
+@Slf4j
+@Component
+public class ImageVariants {
+
+    private static final int MAX_UNSUPPORTED = 10_000;
+
+    private final ImageStore imageStore;
+    private final ImageVariantCache cache;
+    private final ThreadPoolTaskExecutor imageTaskExecutor;
+    private final Duration timeout;
+
+    private final Map<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+    // 읽을 수 없는 원본(ImageIO 가 지원하지 않는 WebP, 깨진 파일 등)을 매번 다시 시도하지 않도록 기억해 둔다.
+    // 디스크 오류처럼 다시 시도하면 될 수 있는 실패는 기억하지 않는다.
+    private final Set<Path> unsupported = ConcurrentHashMap.newKeySet();
+    private final Counter generatedCounter;
+    private final Counter failedCounter;
+
+    public ImageVariants(ImageStore imageStore, ImageVariantCache cache,
+                         @Qualifier("imageTaskExecutor") ThreadPoolTaskExecutor imageTaskExecutor,
+                         AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.imageStore = imageStore;
+        this.cache = cache;
+        this.imageTaskExecutor = imageTaskExecutor;
+        this.timeout = appProperties.getImage().getVariantTimeout();
+        this.generatedCounter = meterRegistry.counter("image.variant.generated");
+        this.failedCounter = meterRegistry.counter("image.variant.failed");
+    }
+
+    // 업로드 직후에 호출한다. 워커 풀이 가득 차 있으면 건너뛴다.
+    public void prepare(String hash, ImageVariant... variants) {
+        if (hash == null) {
+            return;
+        }
+        for (ImageVariant variant : variants) {
+            if (cache.get(hash, variant) == null) {
+                submit(hash, variant);
+            }
+        }
+    }
+
+    // 크기별 이미지 경로. 만들 수 없거나 시간 안에 만들지 못하면 null 을 돌려주고, 호출하는 쪽은 원본을 보낸다.
+    public Path get(String hash, ImageVariant variant) {
+        Path cached = cache.get(hash, variant);
+        if (cached != null) {
+            return cached;
+        }
+        CompletableFuture<Path> future = submit(hash, variant);
+        if (future == null) {
+            return null;
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    private CompletableFuture<Path> submit(String hash, ImageVariant variant) {
+        Path key = cache.pathOf(hash, variant);
+        if (unsupported.contains(key)) {
+            return null;
+        }
+        CompletableFuture<Path> created = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            imageTaskExecutor.execute(() -> {
+                try {
+                    created.complete(generate(hash, variant));
+                } catch (Exception e) {
+                    failedCounter.increment();
+                    if (e instanceof UnsupportedImageException && unsupported.size() < MAX_UNSUPPORTED) {
+                        unsupported.add(key);
+                    }
+                    log.warn("failed to create {} variant of image {}: {}", variant, hash, e.getMessage());
+                    created.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key);
+                }
+            });
+            return created;
+        } catch (TaskRejectedException e) {
+            inFlight.remove(key);
+            created.completeExceptionally(e);
+            return null;
+        }
+    }
+
+    private Path generate(String hash, ImageVariant variant) throws IOException {
+        Path original = imageStore.pathOf(hash);
+        if (!Files.exists(original)) {
+            throw new IOException("no original image");
+        }
+        Path temp = cache.createTempFile(variant);
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                ImageResizer.resize(original, variant, out);
+            }
+            Path path = cache.put(hash, variant, temp);
+            generatedCounter.increment();
+            return path;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
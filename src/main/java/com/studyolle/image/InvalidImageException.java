@@ -0,0 +1,14 @@
+package com.studyolle.image;
+
+// 올린 이미지가 data URL 이 아니거나, 너무 크거나, 지원하지 않는 형식이거나, 해시가 잘못되었다.
+// 폼에서는 입력 오류로 보여 주고, 이미지 조회에서는 404 로 응답한다.
+public class InvalidImageException extends IllegalArgumentException {
+
+    public InvalidImageException(String message) {
+        super(message);
+    }
+
+    public InvalidImageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,110 @@
+package com.studyolle.image;
+
+import com.studyolle.config.AppProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * 예전에는 이미지를 data URL 문자열로 @Lob 컬럼(study.image, account.profile_image)에 저장했다.
+ * 시작할 때 남아 있는 값을 ImageStore 로 옮기고 해시 컬럼을 채운 뒤 원래 컬럼은 비운다.
+ * 한 배치씩 별도 트랜잭션으로 처리하므로 중간에 멈춰도 다음 시작 때 이어서 옮긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LegacyImageMigration {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSource dataSource;
+    private final ImageStore imageStore;
+    private final AppProperties appProperties;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        migrate("study", "image", "image_hash");
+        migrate("account", "profile_image", "profile_image_hash");
+    }
+
+    void migrate(String table, String legacyColumn, String hashColumn) {
+        if (!hasColumn(table, legacyColumn)) {
+            return;
+        }
+
+        int batchSize = appProperties.getImage().getMigrationBatchSize();
+        String select = "select id, " + legacyColumn + " from " + table +
+                " where id > ? and " + legacyColumn + " is not null order by id limit " + batchSize;
+        String update = "update " + table + " set " + hashColumn + " = ?, " + legacyColumn + " = null where id = ?";
+
+        long lastId = 0;
+        int migrated = 0;
+        int skipped = 0;
+        while (true) {
+            // PostgreSQL 에서 @Lob String 은 large object(oid)라서 트랜잭션 안에서 Clob 으로 읽어야 한다.
+            long after = lastId;
+            BatchResult result = transactionTemplate.execute(status -> {
+                List<LegacyImage> batch = jdbcTemplate.query(select, (rs, rowNum) -> {
+                    Clob clob = rs.getClob(2);
+                    return new LegacyImage(rs.getLong(1), clob.getSubString(1, (int) clob.length()));
+                }, after);
+
+                List<Object[]> updates = new ArrayList<>();
+                for (LegacyImage image : batch) {
+                    try {
+                        updates.add(new Object[]{imageStore.resolve(image.value()), image.id()});
+                    } catch (InvalidImageException e) {
+                        // 이미지로 읽을 수 없는 값은 그대로 두고 로그만 남긴다.
+                        log.warn("{}.{} of id {} is not a supported image: {}", table, legacyColumn, image.id(), e.getMessage());
+                    }
+                }
+                jdbcTemplate.batchUpdate(update, updates);
+                long last = batch.isEmpty() ? after : batch.get(batch.size() - 1).id();
+                return new BatchResult(batch.size(), updates.size(), last);
+            });
+            if (result == null || result.read() == 0) {
+                break;
+            }
+            migrated += result.migrated();
+            skipped += result.read() - result.migrated();
+            lastId = result.lastId();
+        }
+        if (migrated > 0 || skipped > 0) {
+            log.info("moved {} images from {}.{} to the image store, skipped {}", migrated, table, legacyColumn, skipped);
+        }
+    }
+
+    private boolean hasColumn(String table, String column) {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            boolean upperCase = metaData.storesUpperCaseIdentifiers();
+            try (ResultSet columns = metaData.getColumns(null, null,
+                    upperCase ? table.toUpperCase() : table, upperCase ? column.toUpperCase() : column)) {
+                return columns.next();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record LegacyImage(long id, String value) {
+    }
+
+    private record BatchResult(int read, int migrated, long lastId) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.studyolle.image;
+
+import java.io.IOException;
+
+// 원본을 읽었지만 ImageIO 가 지원하지 않는 형식이거나 디코딩할 수 없는 이미지. 다시 시도해도 같다.
+class UnsupportedImageException extends IOException {
+
+    UnsupportedImageException(String message) {
+        super(message);
+    }
+
+    UnsupportedImageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,106 @@
+package com.studyolle.mail;
+
+import com.studyolle.config.AppProperties;
+import com.studyolle.domain.OutboundEmail;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 아웃박스에 쌓인 메일을 주기적으로 가져와 메일 워커 풀에서 묶음 단위로 전송한다.
+@Slf4j
+@Component
+public class EmailDispatcher {
+
+    private final EmailOutbox emailOutbox;
+    private final EmailService transport;
+    private final ThreadPoolTaskExecutor mailTaskExecutor;
+    private final AppProperties appProperties;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+    private final Timer batchTimer;
+
+    public EmailDispatcher(EmailOutbox emailOutbox,
+                           @Qualifier(EmailService.TRANSPORT) EmailService transport,
+                           @Qualifier("mailTaskExecutor") ThreadPoolTaskExecutor mailTaskExecutor,
+                           AppProperties appProperties,
+                           MeterRegistry meterRegistry) {
+        this.emailOutbox = emailOutbox;
+        this.transport = transport;
+        this.mailTaskExecutor = mailTaskExecutor;
+        this.appProperties = appProperties;
+
+        Gauge.builder("mail.outbox.pending", pending, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("mail.dispatcher.queue.size", mailTaskExecutor,
+                executor -> executor.getThreadPoolExecutor().getQueue().size()).register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("mail.outbox.sent");
+        this.failedCounter = meterRegistry.counter("mail.outbox.failed");
+        this.rejectedCounter = meterRegistry.counter("mail.dispatcher.rejected");
+        this.batchTimer = meterRegistry.timer("mail.dispatcher.batch");
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.poll-interval-millis:1000}")
+    public void dispatch() {
+        pending.set(emailOutbox.countPending());
+
+        // 워커 풀 대기열에 자리가 있을 때만 아웃박스에서 가져온다. (backpressure)
+        int batchSize = appProperties.getMail().getBatchSize();
+        while (mailTaskExecutor.getThreadPoolExecutor().getQueue().remainingCapacity() > 0) {
+            List<OutboundEmail> batch = emailOutbox.claim(batchSize);
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                mailTaskExecutor.execute(() -> send(batch));
+            } catch (TaskRejectedException e) {
+                // 가져간 메일은 임대가 끝나면 다시 전송 대상이 된다.
+                rejectedCounter.increment();
+                return;
+            }
+            if (batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private void send(List<OutboundEmail> batch) {
+        Map<EmailMessage, Long> ids = new IdentityHashMap<>();
+        batch.forEach(email -> ids.put(email.toEmailMessage(), email.getId()));
+
+        Map<Long, String> failures = new HashMap<>();
+        try {
+            List<EmailService.FailedEmail> failedEmails = batchTimer.record(
+                    () -> transport.sendEmails(new ArrayList<>(ids.keySet())));
+            for (EmailService.FailedEmail failedEmail : failedEmails) {
+                Long id = ids.remove(failedEmail.emailMessage());
+                if (id != null) {
+                    failures.put(id, failedEmail.reason());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("failed to send emails", e);
+            ids.values().forEach(id -> failures.put(id, e.getMessage()));
+            ids.clear();
+        }
+
+        emailOutbox.complete(new ArrayList<>(ids.values()), failures);
+        sentCounter.increment(ids.size());
+        failedCounter.increment(failures.size());
+    }
+}
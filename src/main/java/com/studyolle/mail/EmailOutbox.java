@@ -0,0 +1,68 @@
+package com.studyolle.mail;
+
+import com.studyolle.config.AppProperties;
+import com.studyolle.domain.OutboundEmail;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class EmailOutbox {
+
+    private static final int FLUSH_SIZE = 500;
+
+    private final OutboundEmailRepository outboundEmailRepository;
+    private final EntityManager entityManager;
+    private final AppProperties appProperties;
+
+    // 요청 트랜잭션 안에서 메일을 저장만 한다. 실제 전송은 EmailDispatcher가 커밋 이후에 처리한다.
+    public OutboundEmail enqueue(EmailMessage emailMessage) {
+        return outboundEmailRepository.save(OutboundEmail.of(emailMessage));
+    }
+
+    /*
+     * 수만 통을 한 트랜잭션에 넣을 수 있으므로 FLUSH_SIZE 통마다 INSERT 하고 영속성 컨텍스트에서 내린다.
+     * 저장한 메일만 내리므로 호출한 쪽이 들고 있는 엔티티는 그대로 관리된다.
+     */
+    public void enqueueAll(List<EmailMessage> emailMessages) {
+        for (int from = 0; from < emailMessages.size(); from += FLUSH_SIZE) {
+            List<OutboundEmail> saved = outboundEmailRepository.saveAll(emailMessages
+                    .subList(from, Math.min(from + FLUSH_SIZE, emailMessages.size())).stream()
+                    .map(OutboundEmail::of)
+                    .toList());
+            entityManager.flush();
+            saved.forEach(entityManager::detach);
+        }
+    }
+
+    // 보낼 차례가 된 메일을 가져가고, 워커가 죽더라도 임대가 끝나면 다시 보낼 수 있도록 다음 시도 시각을 미뤄 둔다.
+    public List<OutboundEmail> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboundEmail> emails = outboundEmailRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                OutboundEmailStatus.PENDING, now, PageRequest.of(0, limit));
+        LocalDateTime leaseUntil = now.plus(appProperties.getMail().getLease());
+        emails.forEach(email -> email.lease(leaseUntil));
+        return emails;
+    }
+
+    // 전송 결과를 반영한다. 실패한 메일은 오류 메시지와 함께 넘겨받는다.
+    public void complete(List<Long> sentIds, Map<Long, String> failures) {
+        outboundEmailRepository.findAllById(sentIds).forEach(OutboundEmail::sent);
+        int maxAttempts = appProperties.getMail().getMaxAttempts();
+        outboundEmailRepository.findAllById(failures.keySet())
+                .forEach(email -> email.failed(failures.get(email.getId()), maxAttempts));
+    }
+
+    @Transactional(readOnly = true)
+    public long countPending() {
+        return outboundEmailRepository.countByStatus(OutboundEmailStatus.PENDING);
+    }
+}
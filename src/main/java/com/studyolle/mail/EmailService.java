@@ -1,6 +1,28 @@
 package com.studyolle.mail;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface EmailService {
 
+    // 실제로 메일을 보내는 구현체(ConsoleEmailService, HtmlEmailService)에 붙이는 한정자
+    String TRANSPORT = "emailTransport";
+
     void sendEmail(EmailMessage emailMessage);
+
+    // 여러 메일을 한 번에 보내고, 전송하지 못한 메일과 그 사유를 돌려준다.
+    default List<FailedEmail> sendEmails(List<EmailMessage> emailMessages) {
+        List<FailedEmail> failures = new ArrayList<>();
+        for (EmailMessage emailMessage : emailMessages) {
+            try {
+                sendEmail(emailMessage);
+            } catch (RuntimeException e) {
+                failures.add(new FailedEmail(emailMessage, e.getMessage()));
+            }
+        }
+        return failures;
+    }
+
+    record FailedEmail(EmailMessage emailMessage, String reason) {
+    }
 }
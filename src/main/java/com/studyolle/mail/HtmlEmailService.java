@@ -4,14 +4,23 @@ import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @Profile("dev")
 @Component
+@Qualifier(EmailService.TRANSPORT)
 @RequiredArgsConstructor
 public class HtmlEmailService implements EmailService{
     private final JavaMailSender javaMailSender;
@@ -19,18 +28,61 @@ public class HtmlEmailService implements EmailService{
     @Override
     public void sendEmail(EmailMessage emailMessage) {
         // 자바에서 제공하는 MimeMessage를 이용하여 메일을 보낼 수 있다.
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
-
         try {
-            MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(mimeMessage, false, "UTF-8");
-            mimeMessageHelper.setTo(emailMessage.getTo());
-            mimeMessageHelper.setSubject(emailMessage.getSubject());
-            mimeMessageHelper.setText(emailMessage.getMessage(), true);
-            javaMailSender.send(mimeMessage);
+            javaMailSender.send(createMimeMessage(emailMessage));
             log.info("sent email: {}", emailMessage.getMessage());
         } catch (MessagingException e) {
             log.error("failed to send an email", e);
             throw new RuntimeException(e);
         }
     }
+
+    // MimeMessage 배열로 보내면 JavaMailSenderImpl이 SMTP 연결 하나로 모든 메일을 전송한다.
+    @Override
+    public List<FailedEmail> sendEmails(List<EmailMessage> emailMessages) {
+        List<FailedEmail> failures = new ArrayList<>();
+        Map<MimeMessage, EmailMessage> mimeMessages = new IdentityHashMap<>();
+        for (EmailMessage emailMessage : emailMessages) {
+            try {
+                mimeMessages.put(createMimeMessage(emailMessage), emailMessage);
+            } catch (MessagingException e) {
+                failures.add(new FailedEmail(emailMessage, e.getMessage()));
+            }
+        }
+        if (mimeMessages.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            javaMailSender.send(mimeMessages.keySet().toArray(new MimeMessage[0]));
+            log.info("sent {} emails", mimeMessages.size());
+        } catch (MailSendException e) {
+            // 일부만 실패한 경우 실패한 메일만 다시 시도한다.
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                mimeMessages.values().forEach(m -> failures.add(new FailedEmail(m, e.getMessage())));
+            } else {
+                failedMessages.forEach((mimeMessage, cause) -> {
+                    EmailMessage failed = mimeMessages.get(mimeMessage);
+                    if (failed != null) {
+                        failures.add(new FailedEmail(failed, cause.getMessage()));
+                    }
+                });
+            }
+            log.error("failed to send emails", e);
+        } catch (MailException e) {
+            mimeMessages.values().forEach(m -> failures.add(new FailedEmail(m, e.getMessage())));
+            log.error("failed to send emails", e);
+        }
+        return failures;
+    }
+
+    private MimeMessage createMimeMessage(EmailMessage emailMessage) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(mimeMessage, false, "UTF-8");
+        mimeMessageHelper.setTo(emailMessage.getTo());
+        mimeMessageHelper.setSubject(emailMessage.getSubject());
+        mimeMessageHelper.setText(emailMessage.getMessage(), true);
+        return mimeMessage;
+    }
 }
@@ -0,0 +1,24 @@
+package com.studyolle.mail;
+
+import com.studyolle.domain.OutboundEmail;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface OutboundEmailRepository extends JpaRepository<OutboundEmail, Long> {
+
+    // 여러 인스턴스가 동시에 폴링해도 같은 메일을 가져가지 않도록 SKIP LOCKED(-2)로 잠근다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<OutboundEmail> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(OutboundEmailStatus status, LocalDateTime now, Pageable pageable);
+
+    long countByStatus(OutboundEmailStatus status);
+}
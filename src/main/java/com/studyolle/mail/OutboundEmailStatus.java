@@ -0,0 +1,8 @@
+package com.studyolle.mail;
+
+public enum OutboundEmailStatus {
+    // PENDING: 전송 대기 (재시도 포함)
+    // SENT: 전송 완료
+    // FAILED: 최대 재시도 횟수를 넘겨 전송 포기
+    PENDING, SENT, FAILED;
+}
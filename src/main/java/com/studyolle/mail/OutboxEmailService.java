@@ -0,0 +1,19 @@
+package com.studyolle.mail;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+// 애플리케이션 코드가 사용하는 EmailService. 메일을 아웃박스에 넣기만 하므로 SMTP 지연이 요청에 전파되지 않는다.
+@Primary
+@Component
+@RequiredArgsConstructor
+public class OutboxEmailService implements EmailService {
+
+    private final EmailOutbox emailOutbox;
+
+    @Override
+    public void sendEmail(EmailMessage emailMessage) {
+        emailOutbox.enqueue(emailMessage);
+    }
+}
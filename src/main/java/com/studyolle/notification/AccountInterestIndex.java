@@ -0,0 +1,249 @@
+package com.studyolle.notification;
+
+import com.studyolle.domain.Account;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+/*
+ * 관심 주제(tag id -> 계정)와 활동 지역(zone id -> 계정)의 역색인.
+ * 계정마다 0부터 시작하는 순번을 붙이고, 각 태그/지역이 가진 계정 집합을 long[] 비트맵으로 들고 있어서
+ * 스터디가 공개되면 비트 연산만으로 알림 받을 계정을 찾는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountInterestIndex {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Snapshot snapshot = new Snapshot();
+    // 다시 만드는 동안 커밋된 변경. 새 스냅샷으로 바꿔 끼우기 전에 한 번 더 반영한다.
+    private List<Consumer<Snapshot>> changesDuringRebuild;
+
+    // 시작할 때 만들고, 커밋 이후 반영이 누락되는 경우에 대비해 주기적으로 다시 만든다.
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.notification.index-rebuild-millis:600000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Snapshot fresh = new Snapshot();
+        try {
+            jdbcTemplate.query("select id, study_created_by_web, study_created_by_email from account",
+                    (RowCallbackHandler) rs -> fresh.putAccount(rs.getLong(1), rs.getBoolean(2), rs.getBoolean(3)));
+            jdbcTemplate.query("select account_id, tags_id from account_tags",
+                    (RowCallbackHandler) rs -> fresh.add(fresh.tags, rs.getLong(2), rs.getLong(1)));
+            jdbcTemplate.query("select account_id, zones_id from account_zones",
+                    (RowCallbackHandler) rs -> fresh.add(fresh.zones, rs.getLong(2), rs.getLong(1)));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild.forEach(change -> change.accept(fresh));
+            changesDuringRebuild = null;
+            snapshot = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("account interest index rebuilt: {} accounts, {} tags, {} zones in {}ms",
+                fresh.size, fresh.tags.size(), fresh.zones.size(), System.currentTimeMillis() - start);
+    }
+
+    // 태그 중 하나 이상, 지역 중 하나 이상이 겹치는 계정을 웹 알림/이메일 알림 수신자로 나눠서 돌려준다.
+    public Recipients findRecipients(Collection<Long> tagIds, Collection<Long> zoneIds) {
+        lock.readLock().lock();
+        try {
+            Snapshot s = snapshot;
+            long[] byTag = s.union(s.tags, tagIds);
+            long[] byZone = s.union(s.zones, zoneIds);
+            LongStream.Builder web = LongStream.builder();
+            LongStream.Builder email = LongStream.builder();
+            int words = Math.min(byTag.length, byZone.length);
+            for (int w = 0; w < words; w++) {
+                long matched = byTag[w] & byZone[w];
+                if (matched == 0) {
+                    continue;
+                }
+                collect(s, w, matched & word(s.web, w), web);
+                collect(s, w, matched & word(s.email, w), email);
+            }
+            return new Recipients(web.build().toArray(), email.build().toArray());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void addTag(Account account, Long tagId) {
+        afterCommit(account, s -> s.add(s.tags, tagId, account.getId()));
+    }
+
+    public void removeTag(Account account, Long tagId) {
+        afterCommit(account, s -> s.remove(s.tags, tagId, account.getId()));
+    }
+
+    public void addZone(Account account, Long zoneId) {
+        afterCommit(account, s -> s.add(s.zones, zoneId, account.getId()));
+    }
+
+    public void removeZone(Account account, Long zoneId) {
+        afterCommit(account, s -> s.remove(s.zones, zoneId, account.getId()));
+    }
+
+    public void updateSubscription(Account account) {
+        afterCommit(account, s -> {});
+    }
+
+    // 롤백된 변경이 색인에 들어가지 않도록 트랜잭션이 커밋된 뒤에 반영한다.
+    private void afterCommit(Account account, Consumer<Snapshot> change) {
+        Long accountId = account.getId();
+        boolean web = account.isStudyCreatedByWeb();
+        boolean email = account.isStudyCreatedByEmail();
+        Consumer<Snapshot> update = s -> {
+            s.putAccount(accountId, web, email);
+            change.accept(s);
+        };
+        Runnable apply = () -> {
+            lock.writeLock().lock();
+            try {
+                update.accept(snapshot);
+                if (changesDuringRebuild != null) {
+                    changesDuringRebuild.add(update);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private static void collect(Snapshot s, int word, long bits, LongStream.Builder target) {
+        while (bits != 0) {
+            int bit = Long.numberOfTrailingZeros(bits);
+            target.add(s.accountIds[(word << 6) + bit]);
+            bits &= bits - 1;
+        }
+    }
+
+    private static long word(long[] bits, int index) {
+        return index < bits.length ? bits[index] : 0L;
+    }
+
+    public record Recipients(long[] webAccountIds, long[] emailAccountIds) {
+    }
+
+    private static class Snapshot {
+        final Map<Long, Integer> ordinals = new HashMap<>();
+        long[] accountIds = new long[1024];
+        int size;
+
+        final Map<Long, long[]> tags = new HashMap<>();
+        final Map<Long, long[]> zones = new HashMap<>();
+        long[] web = new long[16];
+        long[] email = new long[16];
+
+        int ordinalOf(long accountId) {
+            Integer ordinal = ordinals.get(accountId);
+            if (ordinal != null) {
+                return ordinal;
+            }
+            if (size == accountIds.length) {
+                accountIds = Arrays.copyOf(accountIds, size * 2);
+            }
+            accountIds[size] = accountId;
+            ordinals.put(accountId, size);
+            return size++;
+        }
+
+        void putAccount(long accountId, boolean studyCreatedByWeb, boolean studyCreatedByEmail) {
+            int ordinal = ordinalOf(accountId);
+            web = studyCreatedByWeb ? set(web, ordinal) : clear(web, ordinal);
+            email = studyCreatedByEmail ? set(email, ordinal) : clear(email, ordinal);
+        }
+
+        void add(Map<Long, long[]> index, Long key, long accountId) {
+            int ordinal = ordinalOf(accountId);
+            index.put(key, set(index.getOrDefault(key, new long[0]), ordinal));
+        }
+
+        void remove(Map<Long, long[]> index, Long key, long accountId) {
+            Integer ordinal = ordinals.get(accountId);
+            long[] bits = index.get(key);
+            if (ordinal != null && bits != null) {
+                clear(bits, ordinal);
+            }
+        }
+
+        long[] union(Map<Long, long[]> index, Collection<Long> keys) {
+            long[] result = new long[0];
+            for (Long key : keys) {
+                long[] bits = index.get(key);
+                if (bits == null) {
+                    continue;
+                }
+                if (bits.length > result.length) {
+                    result = Arrays.copyOf(result, bits.length);
+                }
+                for (int i = 0; i < bits.length; i++) {
+                    result[i] |= bits[i];
+                }
+            }
+            return result;
+        }
+
+        static long[] set(long[] bits, int index) {
+            int word = index >>> 6;
+            if (word >= bits.length) {
+                bits = Arrays.copyOf(bits, Math.max(word + 1, bits.length * 2));
+            }
+            bits[word] |= 1L << index;
+            return bits;
+        }
+
+        static long[] clear(long[] bits, int index) {
+            int word = index >>> 6;
+            if (word < bits.length) {
+                bits[word] &= ~(1L << index);
+            }
+            return bits;
+        }
+    }
+}
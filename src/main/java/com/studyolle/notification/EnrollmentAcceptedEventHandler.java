@@ -0,0 +1,80 @@
+package com.studyolle.notification;
+
+import com.studyolle.config.AppProperties;
+import com.studyolle.domain.OutboxEvent;
+import com.studyolle.event.AcceptedEnrollment;
+import com.studyolle.event.EnrollmentRepository;
+import com.studyolle.mail.EmailMessage;
+import com.studyolle.mail.EmailOutbox;
+import com.studyolle.outbox.OutboxEventHandler;
+import com.studyolle.outbox.OutboxEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// 대기 중이던 참가 신청이 확정되면 신청한 계정에게 알린다.
+@Component
+@RequiredArgsConstructor
+public class EnrollmentAcceptedEventHandler implements OutboxEventHandler {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final NotificationBatchWriter notificationBatchWriter;
+    private final EmailOutbox emailOutbox;
+    private final TemplateEngine templateEngine;
+    private final AppProperties appProperties;
+
+    @Override
+    public boolean supports(OutboxEventType type) {
+        return type == OutboxEventType.ENROLLMENT_ACCEPTED;
+    }
+
+    @Transactional
+    @Override
+    public void handle(List<OutboxEvent> events) {
+        Set<Long> enrollmentIds = events.stream().map(OutboxEvent::getAggregateId).collect(Collectors.toSet());
+        List<AcceptedEnrollment> accepted = enrollmentRepository.findAcceptedByIdIn(enrollmentIds);
+
+        // 같은 모임의 알림은 한 번에 저장한다.
+        Map<Long, List<AcceptedEnrollment>> byEvent = accepted.stream()
+                .filter(AcceptedEnrollment::notifyByWeb)
+                .collect(Collectors.groupingBy(AcceptedEnrollment::eventId));
+        byEvent.values().forEach(enrollments -> {
+            AcceptedEnrollment first = enrollments.get(0);
+            long[] accountIds = enrollments.stream().mapToLong(AcceptedEnrollment::accountId).toArray();
+            notificationBatchWriter.insert(accountIds, first.studyTitle(), first.getEventLink(),
+                    message(first), NotificationType.EVENT_ENROLLMENT);
+        });
+
+        List<EmailMessage> emailMessages = new ArrayList<>();
+        for (AcceptedEnrollment enrollment : accepted) {
+            if (!enrollment.notifyByEmail()) {
+                continue;
+            }
+            Context context = new Context();
+            context.setVariable("link", enrollment.getEventLink());
+            context.setVariable("nickname", enrollment.nickname());
+            context.setVariable("linkName", enrollment.eventTitle());
+            context.setVariable("message", message(enrollment));
+            context.setVariable("host", appProperties.getHost());
+
+            emailMessages.add(EmailMessage.builder()
+                    .to(enrollment.email())
+                    .subject("스터디올래, '" + enrollment.eventTitle() + "' 모임 참가 신청이 확정되었습니다.")
+                    .message(templateEngine.process("mail/single-link", context))
+                    .build());
+        }
+        emailOutbox.enqueueAll(emailMessages);
+    }
+
+    private static String message(AcceptedEnrollment enrollment) {
+        return "'" + enrollment.eventTitle() + "' 모임 참가 신청이 확정되었습니다.";
+    }
+}
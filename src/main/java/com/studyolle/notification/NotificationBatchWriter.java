@@ -0,0 +1,88 @@
+package com.studyolle.notification;
+
+import com.studyolle.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+// 한 스터디의 알림을 수만 명에게 저장해야 하므로 엔티티를 만들지 않고 JDBC 배치로 넣는다.
+@Component
+@RequiredArgsConstructor
+public class NotificationBatchWriter {
+
+    private static final String INSERT_SQL = "insert into notification " +
+            "(title, link, message, checked, account_id, created_date_time, notification_type) " +
+            "values (?, ?, ?, false, ?, ?, ?)";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+
+    public int insert(long[] accountIds, String title, String link, String message, NotificationType type) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < accountIds.length; from += BATCH_SIZE) {
+            int offset = from;
+            int size = Math.min(BATCH_SIZE, accountIds.length - from);
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setString(1, title);
+                    ps.setString(2, link);
+                    ps.setString(3, message);
+                    ps.setLong(4, accountIds[offset + i]);
+                    ps.setTimestamp(5, now);
+                    ps.setString(6, type.name());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+
+        evictUnreadCounts(accountIds);
+        return accountIds.length;
+    }
+
+    /*
+     * 받는 사람의 읽지 않은 알림 개수를 다시 세도록 캐시를 지운다.
+     * 트랜잭션을 아는 캐시에 한 명씩 지우면 받는 사람 수만큼 커밋 후 작업이 등록되므로,
+     * 커밋 후 작업 하나에서 원래 캐시의 항목을 모두 지운다.
+     */
+    private void evictUnreadCounts(long[] accountIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.UNREAD_NOTIFICATIONS);
+        if (cache == null || accountIds.length == 0) {
+            return;
+        }
+        Cache target = cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+        Runnable evict = () -> {
+            for (long accountId : accountIds) {
+                target.evict(accountId);
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.studyolle.notification;
+
+import com.studyolle.account.CurrentUser;
+import com.studyolle.account.UserAccount;
+import com.studyolle.domain.Account;
+import com.studyolle.domain.Notification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+@Controller
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationService notificationService;
+
+    // 알림함. before 파라미터로 이전 페이지의 마지막 알림 id를 받는다.
+    @GetMapping("/notifications")
+    public String getNotifications(@CurrentUser Account account, @RequestParam(required = false) Long before,
+                                   Model model) {
+        List<Notification> notifications = notificationService.getNotifications(account, before);
+        // 화면에 보여준 알림은 읽은 것으로 처리한다.
+        notificationService.markAsRead(account, notifications);
+
+        model.addAttribute(account);
+        model.addAttribute("notifications", notifications);
+        if (notifications.size() == NotificationService.PAGE_SIZE) {
+            model.addAttribute("nextBefore", notifications.get(notifications.size() - 1).getId());
+        }
+        return "notification/list";
+    }
+
+    @PostMapping("/notifications/read-all")
+    public String readAll(@CurrentUser UserAccount userAccount) {
+        notificationService.markAllAsRead(userAccount.getAccountId());
+        return "redirect:/notifications";
+    }
+}
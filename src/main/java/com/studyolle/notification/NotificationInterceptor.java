@@ -0,0 +1,37 @@
+package com.studyolle.notification;
+
+import com.studyolle.account.UserAccount;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.view.RedirectView;
+
+// 뷰를 렌더링하는 모든 요청에 읽지 않은 알림 개수를 넣어준다. 개수는 캐시에서 읽으므로 보통 쿼리가 발생하지 않는다.
+@Component
+@RequiredArgsConstructor
+public class NotificationInterceptor implements HandlerInterceptor {
+
+    private final NotificationService notificationService;
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (modelAndView != null && !isRedirectView(modelAndView)
+                && authentication != null && authentication.getPrincipal() instanceof UserAccount userAccount) {
+            long count = notificationService.countUnread(userAccount.getAccountId());
+            modelAndView.addObject("unreadNotificationCount", count);
+            modelAndView.addObject("hasNotification", count > 0);
+        }
+    }
+
+    private boolean isRedirectView(ModelAndView modelAndView) {
+        return modelAndView.getViewName() != null && modelAndView.getViewName().startsWith("redirect:")
+                || modelAndView.getView() instanceof RedirectView;
+    }
+}
@@ -0,0 +1,35 @@
+package com.studyolle.notification;
+
+import com.studyolle.domain.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    long countByAccountIdAndChecked(Long accountId, boolean checked);
+
+    // 알림함 첫 페이지
+    List<Notification> findByAccountIdOrderByIdDesc(Long accountId, Pageable pageable);
+
+    // 이전 페이지의 마지막 id보다 작은 알림을 가져온다. (keyset pagination)
+    List<Notification> findByAccountIdAndIdLessThanOrderByIdDesc(Long accountId, Long id, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("update Notification n set n.checked = true " +
+            "where n.account.id = :accountId and n.id in :ids and n.checked = false")
+    int markChecked(@Param("accountId") Long accountId, @Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("update Notification n set n.checked = true where n.account.id = :accountId and n.checked = false")
+    int markAllChecked(@Param("accountId") Long accountId);
+}
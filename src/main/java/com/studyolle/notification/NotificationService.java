@@ -0,0 +1,52 @@
+package com.studyolle.notification;
+
+import com.studyolle.config.CacheConfig;
+import com.studyolle.domain.Account;
+import com.studyolle.domain.Notification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class NotificationService {
+
+    public static final int PAGE_SIZE = 20;
+
+    private final NotificationRepository notificationRepository;
+
+    // 네비게이션 바가 모든 페이지에서 사용하므로 캐시에 두고, 알림이 추가되거나 읽음 처리될 때만 지운다.
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.UNREAD_NOTIFICATIONS, key = "#accountId")
+    public long countUnread(Long accountId) {
+        return notificationRepository.countByAccountIdAndChecked(accountId, false);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Notification> getNotifications(Account account, Long before) {
+        PageRequest page = PageRequest.of(0, PAGE_SIZE);
+        if (before == null) {
+            return notificationRepository.findByAccountIdOrderByIdDesc(account.getId(), page);
+        }
+        return notificationRepository.findByAccountIdAndIdLessThanOrderByIdDesc(account.getId(), before, page);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.UNREAD_NOTIFICATIONS, key = "#account.id")
+    public void markAsRead(Account account, List<Notification> notifications) {
+        List<Long> unreadIds = notifications.stream().filter(n -> !n.isChecked()).map(Notification::getId).toList();
+        if (!unreadIds.isEmpty()) {
+            notificationRepository.markChecked(account.getId(), unreadIds);
+        }
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.UNREAD_NOTIFICATIONS, key = "#accountId")
+    public void markAllAsRead(Long accountId) {
+        notificationRepository.markAllChecked(accountId);
+    }
+}
@@ -0,0 +1,5 @@
+package com.studyolle.notification;
+
+public enum NotificationType {
+    STUDY_CREATED, STUDY_UPDATED, EVENT_ENROLLMENT;
+}
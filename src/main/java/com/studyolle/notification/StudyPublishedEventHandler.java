@@ -0,0 +1,92 @@
+package com.studyolle.notification;
+
+import com.studyolle.account.AccountContact;
+import com.studyolle.account.AccountRepository;
+import com.studyolle.config.AppProperties;
+import com.studyolle.domain.OutboxEvent;
+import com.studyolle.domain.Study;
+import com.studyolle.domain.Tag;
+import com.studyolle.domain.Zone;
+import com.studyolle.mail.EmailMessage;
+import com.studyolle.mail.EmailOutbox;
+import com.studyolle.outbox.OutboxEventHandler;
+import com.studyolle.outbox.OutboxEventType;
+import com.studyolle.study.StudyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// 스터디가 공개되면 관심 주제와 활동 지역이 겹치는 계정에게 알림을 보낸다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudyPublishedEventHandler implements OutboxEventHandler {
+
+    private static final int CONTACT_CHUNK_SIZE = 1000;
+
+    private final StudyRepository studyRepository;
+    private final AccountRepository accountRepository;
+    private final AccountInterestIndex accountInterestIndex;
+    private final NotificationBatchWriter notificationBatchWriter;
+    private final EmailOutbox emailOutbox;
+    private final TemplateEngine templateEngine;
+    private final AppProperties appProperties;
+
+    @Override
+    public boolean supports(OutboxEventType type) {
+        return type == OutboxEventType.STUDY_PUBLISHED;
+    }
+
+    @Transactional
+    @Override
+    public void handle(List<OutboxEvent> events) {
+        Set<Long> studyIds = events.stream().map(OutboxEvent::getAggregateId).collect(Collectors.toSet());
+        for (Study study : studyRepository.findStudyWithTagsAndZonesByIdIn(studyIds)) {
+            long start = System.currentTimeMillis();
+            AccountInterestIndex.Recipients recipients = accountInterestIndex.findRecipients(
+                    study.getTags().stream().map(Tag::getId).toList(),
+                    study.getZones().stream().map(Zone::getId).toList());
+
+            String link = "/study/" + study.getEncodedPath();
+            notificationBatchWriter.insert(recipients.webAccountIds(), study.getTitle(), link,
+                    study.getShortDescription(), NotificationType.STUDY_CREATED);
+            sendEmails(study, link, recipients.emailAccountIds());
+
+            log.info("study {} published: {} web, {} email recipients in {}ms", study.getId(),
+                    recipients.webAccountIds().length, recipients.emailAccountIds().length,
+                    System.currentTimeMillis() - start);
+        }
+    }
+
+    private void sendEmails(Study study, String link, long[] accountIds) {
+        for (int from = 0; from < accountIds.length; from += CONTACT_CHUNK_SIZE) {
+            List<Long> chunk = Arrays.stream(accountIds, from, Math.min(from + CONTACT_CHUNK_SIZE, accountIds.length))
+                    .boxed().toList();
+            List<EmailMessage> emailMessages = new ArrayList<>();
+            for (AccountContact contact : accountRepository.findContactByIdIn(chunk)) {
+                Context context = new Context();
+                context.setVariable("link", link);
+                context.setVariable("nickname", contact.getNickname());
+                context.setVariable("linkName", study.getTitle());
+                context.setVariable("message", "새로운 스터디가 생겼습니다.");
+                context.setVariable("host", appProperties.getHost());
+
+                emailMessages.add(EmailMessage.builder()
+                        .to(contact.getEmail())
+                        .subject("스터디올래, '" + study.getTitle() + "' 스터디가 생겼습니다.")
+                        .message(templateEngine.process("mail/single-link", context))
+                        .build());
+            }
+            emailOutbox.enqueueAll(emailMessages);
+        }
+    }
+}
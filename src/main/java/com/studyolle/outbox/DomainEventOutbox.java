@@ -0,0 +1,47 @@
+package com.studyolle.outbox;
+
+import com.studyolle.config.AppProperties;
+import com.studyolle.domain.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class DomainEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final AppProperties appProperties;
+
+    // 상태 변경과 반드시 같은 트랜잭션에서 기록해야 하므로 진행 중인 트랜잭션이 없으면 예외가 발생한다.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OutboxEventType type, Long aggregateId) {
+        outboxEventRepository.save(OutboxEvent.of(type, aggregateId));
+    }
+
+    public List<OutboxEvent> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                OutboxEventStatus.PENDING, now, PageRequest.of(0, limit));
+        LocalDateTime leaseUntil = now.plus(appProperties.getOutbox().getLease());
+        events.forEach(event -> event.lease(leaseUntil));
+        return events;
+    }
+
+    // 실패한 이벤트는 그때까지 처리를 마친 처리기(completedHandlers)를 함께 저장해서 다시 시도할 때 건너뛰게 한다.
+    public void complete(List<Long> processedIds, Map<Long, String> failures, Map<Long, String> completedHandlers) {
+        outboxEventRepository.findAllById(processedIds).forEach(OutboxEvent::processed);
+        int maxAttempts = appProperties.getOutbox().getMaxAttempts();
+        outboxEventRepository.findAllById(failures.keySet()).forEach(event -> {
+            event.setCompletedHandlers(completedHandlers.get(event.getId()));
+            event.failed(failures.get(event.getId()), maxAttempts);
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package com.studyolle.outbox;
+
+import com.studyolle.domain.OutboxEvent;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+// OutboxRelay가 이벤트를 묶음으로 넘겨주는 알림 처리기
+public interface OutboxEventHandler {
+
+    boolean supports(OutboxEventType type);
+
+    // 같은 종류의 이벤트 묶음을 처리한다. 예외를 던지면 이 처리기만 묶음 전체를 나중에 다시 시도한다.
+    void handle(List<OutboxEvent> events);
+
+    // 이벤트마다 처리를 마친 처리기를 기록할 때 쓰는 이름
+    default String name() {
+        return ClassUtils.getUserClass(this).getSimpleName();
+    }
+}
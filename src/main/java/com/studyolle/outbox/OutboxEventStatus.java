@@ -0,0 +1,5 @@
+package com.studyolle.outbox;
+
+public enum OutboxEventStatus {
+    PENDING, PROCESSED, FAILED;
+}
@@ -0,0 +1,10 @@
+package com.studyolle.outbox;
+
+public enum OutboxEventType {
+    // aggregateId: Study id
+    STUDY_PUBLISHED, STUDY_RECRUITING_STARTED,
+    // aggregateId: Event id
+    EVENT_CREATED,
+    // aggregateId: Enrollment id
+    ENROLLMENT_ACCEPTED;
+}
@@ -0,0 +1,89 @@
+package com.studyolle.outbox;
+
+import com.studyolle.config.AppProperties;
+import com.studyolle.domain.OutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 아웃박스의 도메인 이벤트를 묶음으로 가져와 종류별로 알림 처리기에 넘긴다.
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final DomainEventOutbox domainEventOutbox;
+    private final List<OutboxEventHandler> handlers;
+    private final AppProperties appProperties;
+    private final Counter processedCounter;
+    private final Counter failedCounter;
+
+    public OutboxRelay(DomainEventOutbox domainEventOutbox, ObjectProvider<OutboxEventHandler> handlers,
+                       AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.domainEventOutbox = domainEventOutbox;
+        this.handlers = handlers.orderedStream().toList();
+        this.appProperties = appProperties;
+        this.processedCounter = meterRegistry.counter("outbox.events.processed");
+        this.failedCounter = meterRegistry.counter("outbox.events.failed");
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-millis:1000}")
+    public void relay() {
+        int batchSize = appProperties.getOutbox().getBatchSize();
+        List<OutboxEvent> batch;
+        do {
+            batch = domainEventOutbox.claim(batchSize);
+            if (!batch.isEmpty()) {
+                dispatch(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    // 처리기마다 따로 처리하고 결과를 이벤트에 기록한다. 한 처리기가 실패해도 이미 성공한 처리기는 다시 부르지 않는다.
+    private void dispatch(List<OutboxEvent> batch) {
+        Map<OutboxEventType, List<OutboxEvent>> eventsByType = new EnumMap<>(OutboxEventType.class);
+        batch.forEach(event -> eventsByType.computeIfAbsent(event.getType(), t -> new ArrayList<>()).add(event));
+
+        Map<Long, String> failures = new HashMap<>();
+        eventsByType.forEach((type, events) -> {
+            for (OutboxEventHandler handler : handlers) {
+                if (!handler.supports(type)) {
+                    continue;
+                }
+                String name = handler.name();
+                List<OutboxEvent> pending = events.stream().filter(event -> !event.isCompletedBy(name)).toList();
+                if (pending.isEmpty()) {
+                    continue;
+                }
+                try {
+                    handler.handle(pending);
+                    pending.forEach(event -> event.completedBy(name));
+                } catch (RuntimeException e) {
+                    log.error("{} failed to handle {} outbox events", name, type, e);
+                    pending.forEach(event -> failures.putIfAbsent(event.getId(), name + ": " + e.getMessage()));
+                }
+            }
+        });
+
+        List<Long> processed = new ArrayList<>();
+        Map<Long, String> completedHandlers = new HashMap<>();
+        for (OutboxEvent event : batch) {
+            if (failures.containsKey(event.getId())) {
+                completedHandlers.put(event.getId(), event.getCompletedHandlers());
+            } else {
+                processed.add(event.getId());
+            }
+        }
+        domainEventOutbox.complete(processed, failures, completedHandlers);
+        processedCounter.increment(processed.size());
+        failedCounter.increment(failures.size());
+    }
+}
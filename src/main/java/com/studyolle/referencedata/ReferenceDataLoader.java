@@ -0,0 +1,203 @@
+package com.studyolle.referencedata;
+
+import com.studyolle.config.AppProperties;
+import com.studyolle.domain.ReferenceDataVersion;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/*
+ * 참조 데이터(ReferenceDataSet)를 시작 직후 백그라운드에서 넣는다. 준비(readiness)를 늦추지 않는다.
+ * - 파일의 SHA-256 이 reference_data_version 에 기록된 값과 같으면 건너뛴다.
+ * - 파일 전체를 메모리에 올리지 않고 한 줄씩 읽어서 batch-size 행마다 JDBC 배치 한 번, 트랜잭션 한 번으로 넣는다.
+ * - id 는 엔티티의 Hibernate 생성기에서 받으므로 시퀀스를 한 번 읽을 때마다 여러 id 를 쓴다.
+ * - 이미 있는 행은 두므로 중간에 멈췄다가 다시 넣어도 된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataLoader {
+
+    private final List<ReferenceDataSet> dataSets;
+    private final ReferenceDataVersionRepository versionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final AppProperties appProperties;
+
+    private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        try {
+            dataSets.forEach(this::load);
+            loaded.complete(null);
+        } catch (RuntimeException e) {
+            loaded.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // 모든 참조 데이터를 넣었거나 건너뛰면 완료된다.
+    public CompletableFuture<Void> loaded() {
+        return loaded;
+    }
+
+    void load(ReferenceDataSet dataSet) {
+        String checksum = checksum(dataSet);
+        boolean unchanged = versionRepository.findById(dataSet.name())
+                .map(version -> version.getChecksum().equals(checksum))
+                .orElse(false);
+        if (unchanged) {
+            log.debug("reference data {} is up to date", dataSet.name());
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        int batchSize = appProperties.getReferenceData().getBatchSize();
+        String sql = upsertSql(dataSet);
+        int read = 0;
+        int inserted = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(dataSet.resource().getInputStream(), StandardCharsets.UTF_8))) {
+            List<String[]> batch = new ArrayList<>(batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (read == 0 && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                    line = line.substring(1);
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                batch.add(parse(dataSet, line));
+                read++;
+                if (batch.size() == batchSize) {
+                    inserted += write(dataSet, sql, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                inserted += write(dataSet, sql, batch);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        versionRepository.save(new ReferenceDataVersion(dataSet.name(), checksum, LocalDateTime.now()));
+
+        // JDBC 로 넣은 행은 Hibernate 가 모르므로 2차 캐시와 쿼리 캐시를 비운다.
+        SessionFactoryImplementor sessionFactory = sessionFactory();
+        sessionFactory.getCache().evictEntityData(dataSet.entityClass());
+        sessionFactory.getCache().evictQueryRegions();
+        dataSet.afterLoad();
+        log.info("reference data {} loaded: {} rows read, {} inserted in {}ms",
+                dataSet.name(), read, inserted, System.currentTimeMillis() - start);
+    }
+
+    private int write(ReferenceDataSet dataSet, String sql, List<String[]> rows) {
+        Integer inserted = transactionTemplate.execute(status -> {
+            IdentifierGenerator generator = (IdentifierGenerator) sessionFactory()
+                    .getMappingMetamodel().getEntityDescriptor(dataSet.entityClass()).getGenerator();
+            SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+            boolean postgreSQL = isPostgreSQL();
+
+            List<Object[]> args = new ArrayList<>(rows.size());
+            for (String[] row : rows) {
+                Object id = generator.generate(session, null);
+                Object[] values = new Object[row.length + 1];
+                if (postgreSQL) {
+                    values[0] = id;
+                    System.arraycopy(row, 0, values, 1, row.length);
+                } else {
+                    System.arraycopy(row, 0, values, 0, row.length);
+                    values[row.length] = id;
+                }
+                args.add(values);
+            }
+            int count = 0;
+            for (int updated : jdbcTemplate.batchUpdate(sql, args)) {
+                count += Math.max(updated, 0);
+            }
+            return count;
+        });
+        return inserted == null ? 0 : inserted;
+    }
+
+    // PostgreSQL 은 INSERT ... ON CONFLICT DO NOTHING, H2 는 MERGE 로 없는 행만 넣는다.
+    private String upsertSql(ReferenceDataSet dataSet) {
+        String columns = String.join(", ", dataSet.columns());
+        if (isPostgreSQL()) {
+            return "insert into " + dataSet.table() + " (id, " + columns + ") values (?, " +
+                    dataSet.columns().stream().map(c -> "?").collect(Collectors.joining(", ")) + ") " +
+                    "on conflict (" + String.join(", ", dataSet.keyColumns()) + ") do nothing";
+        }
+        return "merge into " + dataSet.table() + " t using (select " +
+                dataSet.columns().stream().map(c -> "cast(? as varchar(255)) as " + c).collect(Collectors.joining(", ")) +
+                ") s on " +
+                dataSet.keyColumns().stream().map(c -> "t." + c + " = s." + c).collect(Collectors.joining(" and ")) +
+                " when not matched then insert (id, " + columns + ") values (" +
+                dataSet.columns().stream().map(c -> "s." + c).collect(Collectors.joining(", ", "?, ", "")) + ")";
+    }
+
+    private static String[] parse(ReferenceDataSet dataSet, String line) {
+        String[] values = line.split(",", -1);
+        if (values.length != dataSet.columns().size()) {
+            throw new IllegalStateException("reference data " + dataSet.name() + " expects " +
+                    dataSet.columns().size() + " columns but got: " + line);
+        }
+        for (int i = 0; i < values.length; i++) {
+            values[i] = values[i].trim();
+        }
+        return values;
+    }
+
+    private static String checksum(ReferenceDataSet dataSet) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(dataSet.resource().getInputStream(), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private SessionFactoryImplementor sessionFactory() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+    }
+
+    private boolean isPostgreSQL() {
+        return sessionFactory().getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+}
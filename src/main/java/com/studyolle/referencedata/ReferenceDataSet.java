@@ -0,0 +1,33 @@
+package com.studyolle.referencedata;
+
+import org.springframework.core.io.Resource;
+
+import java.util.List;
+
+/*
+ * 시작할 때 클래스패스의 CSV 로 채우는 참조 데이터.
+ * CSV 한 줄이 한 행이고, 값은 쉼표로 나뉜 문자열이다. (따옴표로 감싼 값은 지원하지 않는다)
+ * 빈(bean)으로 등록하면 ReferenceDataLoader 가 찾아서 넣는다.
+ */
+public interface ReferenceDataSet {
+
+    // reference_data_version 에 체크섬을 기록하는 이름
+    String name();
+
+    Resource resource();
+
+    // id 생성기와 2차 캐시를 찾는 데 쓰는 엔티티
+    Class<?> entityClass();
+
+    String table();
+
+    // CSV 열 순서대로의 컬럼 이름
+    List<String> columns();
+
+    // 이미 있는 행인지 판단하는 유니크 키 컬럼
+    List<String> keyColumns();
+
+    // 데이터를 새로 넣은 뒤 호출한다.
+    default void afterLoad() {
+    }
+}
@@ -0,0 +1,9 @@
+package com.studyolle.referencedata;
+
+import com.studyolle.domain.ReferenceDataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional(readOnly = true)
+public interface ReferenceDataVersionRepository extends JpaRepository<ReferenceDataVersion, String> {
+}
@@ -1,15 +1,15 @@
 package com.studyolle.settings;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.studyolle.account.AccountService;
 import com.studyolle.account.CurrentUser;
 import com.studyolle.domain.Account;
 import com.studyolle.domain.Tag;
 import com.studyolle.domain.Zone;
+import com.studyolle.image.InvalidImageException;
 import com.studyolle.settings.form.*;
 import com.studyolle.settings.validator.PasswordFormValidator;
 import com.studyolle.tag.TagRepository;
+import com.studyolle.tag.TagService;
 import com.studyolle.zone.ZoneRepository;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -22,7 +22,6 @@ import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
 import java.util.Set;
@@ -40,9 +39,9 @@ public class SettingsController {
 
     private final AccountService accountService;
     private final TagRepository tagRepository;
+    private final TagService tagService;
     private final ZoneRepository zoneRepository;
     private final ModelMapper modelMapper;
-    private final ObjectMapper objectMapper;
 
     @GetMapping("/settings/profile")
     public String profileUpdateForm(@CurrentUser Account account, Model model) {
@@ -59,7 +58,13 @@ public class SettingsController {
             model.addAttribute(account);
             return "settings/profile";
         }
-        accountService.updateProfile(account, profile);
+        try {
+            accountService.updateProfile(account, profile);
+        } catch (InvalidImageException e) {
+            errors.rejectValue("profileImage", "invalid.image", e.getMessage());
+            model.addAttribute(account);
+            return "settings/profile";
+        }
         attributes.addFlashAttribute("message", "프로필을 수정했습니다.");
         return "redirect:/settings/profile";
     }
@@ -105,24 +110,17 @@ public class SettingsController {
     }
 
     @GetMapping("/settings/tags")
-    public String updateTags(@CurrentUser Account account, Model model) throws JsonProcessingException {
+    public String updateTags(@CurrentUser Account account, Model model) {
         model.addAttribute(account);
         Set<Tag> tags = accountService.getTags(account);
         model.addAttribute("tags", tags.stream().map(Tag::getTitle).collect(Collectors.toList()));
-
-        List<String> allTags = tagRepository.findAll().stream().map(Tag::getTitle).collect(Collectors.toList());
-        model.addAttribute("whitelist", objectMapper.writeValueAsString(allTags));
         return "settings/tags";
     }
 
     @ResponseBody
     @PostMapping("/settings/tags/add")
     public ResponseEntity addTag(@CurrentUser Account account, @RequestBody TagForm tagForm, Model model) {
-        Tag tag = tagRepository.findByTitle(tagForm.getTagTitle());
-        if (tag == null) {
-            tag = tagRepository.save(Tag.builder().title(tagForm.getTagTitle()).build());
-        }
-
+        Tag tag = tagService.findOrCreateNew(tagForm.getTagTitle());
         accountService.addTag(account, tag);
 
         return ResponseEntity.ok().build();
@@ -141,15 +139,12 @@ public class SettingsController {
     }
 
     @GetMapping("/settings/zones")
-    public String updateZonesForm(@CurrentUser Account account, Model model) throws JsonProcessingException {
+    public String updateZonesForm(@CurrentUser Account account, Model model) {
         model.addAttribute(account);
 
         Set<Zone> zones = accountService.getZones(account);
         model.addAttribute("zones", zones.stream().map(Zone::toString).collect(Collectors.toList()));
 
-        List<String> allZones = zoneRepository.findAll().stream().map(Zone::toString).collect(Collectors.toList());
-        model.addAttribute("whitelist", objectMapper.writeValueAsString(allZones));
-
         return "settings/zones";
     }
 
@@ -0,0 +1,61 @@
+package com.studyolle.study;
+
+import com.studyolle.account.CurrentUser;
+import com.studyolle.domain.Account;
+import com.studyolle.domain.Study;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+
+@Controller
+@RequiredArgsConstructor
+public class SearchController {
+
+    public static final int PAGE_SIZE = 9;
+    public static final int QUICK_SEARCH_SIZE = 10;
+
+    private final StudyRepository studyRepository;
+    private final StudySearchIndex studySearchIndex;
+
+    // 스터디 검색. cursor 파라미터로 직전 페이지의 마지막 스터디 위치를 받는다.
+    @GetMapping("/search/study")
+    public String searchStudy(@CurrentUser Account account, @RequestParam(defaultValue = "") String keyword,
+                              @RequestParam(defaultValue = "RECENT") StudySort sort,
+                              @RequestParam(required = false) String cursor, Model model) {
+        String trimmed = keyword.trim();
+        List<Study> studies = trimmed.isEmpty() ? List.of()
+                : studyRepository.findByKeyword(trimmed, sort, parseCursor(cursor, sort), PAGE_SIZE);
+
+        if (account != null) {
+            model.addAttribute(account);
+        }
+        model.addAttribute("keyword", trimmed);
+        model.addAttribute("sort", sort);
+        model.addAttribute("studies", studies);
+        if (studies.size() == PAGE_SIZE) {
+            model.addAttribute("nextCursor", StudyCursor.of(studies.get(studies.size() - 1)).encode(sort));
+        }
+        return "search";
+    }
+
+    // 손으로 고쳤거나 정렬을 바꾼 뒤의 예전 커서는 오류 대신 첫 페이지부터 보여 준다.
+    private static StudyCursor parseCursor(String cursor, StudySort sort) {
+        try {
+            return StudyCursor.parse(cursor, sort);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // 검색창 자동완성용. DB 를 거치지 않고 메모리 색인에서 바로 찾는다.
+    @GetMapping("/search/study/quick")
+    @ResponseBody
+    public List<StudySearchIndex.Hit> quickSearch(@RequestParam(defaultValue = "") String keyword) {
+        return studySearchIndex.search(keyword, QUICK_SEARCH_SIZE);
+    }
+}
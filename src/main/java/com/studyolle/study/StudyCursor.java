@@ -0,0 +1,38 @@
+package com.studyolle.study;
+
+import com.studyolle.domain.Study;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/*
+ * 검색 결과 다음 페이지를 찾기 위한 커서. 직전 페이지 마지막 스터디의 정렬 키와 id를 담는다.
+ * 문자열 형식: "정렬 키_id" (RECENT는 공개 일시, MEMBERS는 멤버 수)
+ */
+public record StudyCursor(LocalDateTime publishedDateTime, int memberCount, Long id) {
+
+    public static StudyCursor of(Study study) {
+        return new StudyCursor(study.getPublishedDateTime(), study.getMemberCount(), study.getId());
+    }
+
+    public String encode(StudySort sort) {
+        String key = sort == StudySort.MEMBERS ? String.valueOf(memberCount) : publishedDateTime.toString();
+        return key + "_" + id;
+    }
+
+    public static StudyCursor parse(String value, StudySort sort) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        int separator = value.lastIndexOf('_');
+        try {
+            String key = value.substring(0, separator);
+            Long id = Long.valueOf(value.substring(separator + 1));
+            return sort == StudySort.MEMBERS
+                    ? new StudyCursor(null, Integer.parseInt(key), id)
+                    : new StudyCursor(LocalDateTime.parse(key), 0, id);
+        } catch (IndexOutOfBoundsException | NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 검색 커서입니다: " + value);
+        }
+    }
+}
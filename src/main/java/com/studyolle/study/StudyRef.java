@@ -0,0 +1,12 @@
+package com.studyolle.study;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+// 권한 확인, 참가 신청처럼 스터디가 있는지와 경로만 필요할 때 쓰는 가벼운 조회 결과
+public record StudyRef(Long id, String path, String title, boolean published, boolean closed) {
+
+    public String getEncodedPath() {
+        return URLEncoder.encode(this.path, StandardCharsets.UTF_8);
+    }
+}
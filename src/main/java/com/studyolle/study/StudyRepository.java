@@ -1,12 +1,21 @@
 package com.studyolle.study;
 
 import com.studyolle.domain.Study;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Transactional
-public interface StudyRepository extends JpaRepository<Study, Long> {
+public interface StudyRepository extends JpaRepository<Study, Long>, StudyRepositoryExtension {
     boolean existsByPath(String path);
 
     @EntityGraph(value = "Study.withAllRelations", type = EntityGraph.EntityGraphType.LOAD)
@@ -26,5 +35,44 @@ public interface StudyRepository extends JpaRepository<Study, Long> {
     @EntityGraph(value = "Study.withMembers", type = EntityGraph.EntityGraphType.FETCH)
     Study findStudyWithMembersByPath(String path);
 
-    Study findStudyOnlyByPath(String path);
+    @Query("select new com.studyolle.study.StudyRef(s.id, s.path, s.title, s.published, s.closed) " +
+            "from Study s where s.path = :path")
+    StudyRef findStudyRefByPath(@Param("path") String path);
+
+    boolean existsByPathAndManagersId(String path, Long accountId);
+
+    @EntityGraph(attributePaths = {"tags", "zones"}, type = EntityGraph.EntityGraphType.FETCH)
+    List<Study> findStudyWithTagsAndZonesByIdIn(Collection<Long> ids);
+
+    // 검색 색인용 스트리밍 조회. 호출하는 쪽에서 트랜잭션 안에서 읽고 닫아야 한다.
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("select s.id as id, s.path as path, s.title as title, s.shortDescription as shortDescription " +
+            "from Study s where s.published = true and s.closed = false")
+    Stream<StudySearchRow> streamSearchableStudies();
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("select s.id as studyId, t.title as term from Study s join s.tags t " +
+            "where s.published = true and s.closed = false")
+    Stream<StudyTermRow> streamSearchableTagTitles();
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("select s.id as studyId, concat(z.localNameOfCity, ' ', z.city) as term from Study s join s.zones z " +
+            "where s.published = true and s.closed = false")
+    Stream<StudyTermRow> streamSearchableZoneNames();
+
+    String SUMMARY = "select new com.studyolle.study.StudySummary(s.id, s.path, s.title, s.shortDescription, " +
+            "s.memberCount, s.publishedDateTime, s.published, s.recruiting, s.imageHash) from Study s ";
+
+    // 계정의 관심 주제와 활동 지역이 하나 이상씩 겹치는 공개 스터디
+    @Query(SUMMARY + "where s.published = true and s.closed = false " +
+            "and exists (select t.id from Account a join a.tags t where a.id = :accountId and t member of s.tags) " +
+            "and exists (select z.id from Account a join a.zones z where a.id = :accountId and z member of s.zones) " +
+            "order by s.publishedDateTime desc")
+    List<StudySummary> findRecommendedSummaries(@Param("accountId") Long accountId, Pageable pageable);
+
+    @Query(SUMMARY + "join s.managers m where m.id = :accountId and s.closed = false order by s.id desc")
+    List<StudySummary> findManagingSummaries(@Param("accountId") Long accountId, Pageable pageable);
+
+    @Query(SUMMARY + "join s.members m where m.id = :accountId and s.closed = false order by s.id desc")
+    List<StudySummary> findJoinedSummaries(@Param("accountId") Long accountId, Pageable pageable);
 }
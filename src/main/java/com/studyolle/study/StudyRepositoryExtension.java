@@ -0,0 +1,11 @@
+package com.studyolle.study;
+
+import com.studyolle.domain.Study;
+
+import java.util.List;
+
+public interface StudyRepositoryExtension {
+
+    // 공개된 스터디 중 이름, 태그, 지역 이름에 키워드가 들어간 스터디를 커서 다음부터 size개 가져온다.
+    List<Study> findByKeyword(String keyword, StudySort sort, StudyCursor cursor, int size);
+}
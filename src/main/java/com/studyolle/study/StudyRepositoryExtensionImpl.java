@@ -0,0 +1,69 @@
+package com.studyolle.study;
+
+import com.studyolle.domain.Study;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class StudyRepositoryExtensionImpl implements StudyRepositoryExtension {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Study> findByKeyword(String keyword, StudySort sort, StudyCursor cursor, int size) {
+        // 1. 정렬 키 인덱스를 타고 이번 페이지에 들어갈 스터디 id만 찾는다.
+        StringBuilder jpql = new StringBuilder("select s.id from Study s where s.published = true and (" +
+                "lower(s.title) like :keyword escape '!' " +
+                "or exists (select t.id from Study ts join ts.tags t " +
+                "where ts = s and lower(t.title) like :keyword escape '!') " +
+                "or exists (select z.id from Study zs join zs.zones z " +
+                "where zs = s and lower(z.localNameOfCity) like :keyword escape '!'))");
+        if (cursor != null) {
+            jpql.append(sort == StudySort.MEMBERS
+                    ? " and (s.memberCount < :memberCount or (s.memberCount = :memberCount and s.id < :id))"
+                    : " and (s.publishedDateTime < :publishedDateTime or (s.publishedDateTime = :publishedDateTime and s.id < :id))");
+        }
+        jpql.append(sort == StudySort.MEMBERS
+                ? " order by s.memberCount desc, s.id desc"
+                : " order by s.publishedDateTime desc, s.id desc");
+
+        TypedQuery<Long> idQuery = entityManager.createQuery(jpql.toString(), Long.class)
+                .setParameter("keyword", "%" + escape(keyword.toLowerCase()) + "%")
+                .setMaxResults(size);
+        if (cursor != null) {
+            idQuery.setParameter("id", cursor.id());
+            if (sort == StudySort.MEMBERS) {
+                idQuery.setParameter("memberCount", cursor.memberCount());
+            } else {
+                idQuery.setParameter("publishedDateTime", cursor.publishedDateTime());
+            }
+        }
+        List<Long> ids = idQuery.getResultList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // 2. 찾은 스터디를 태그, 지역과 함께 한 번에 가져와 N+1 쿼리를 막는다.
+        List<Study> studies = entityManager.createQuery("select distinct s from Study s " +
+                        "left join fetch s.tags left join fetch s.zones where s.id in :ids", Study.class)
+                .setParameter("ids", ids)
+                .getResultList();
+
+        Map<Long, Integer> order = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            order.put(ids.get(i), i);
+        }
+        studies.sort(Comparator.comparing(study -> order.get(study.getId())));
+        return studies;
+    }
+
+    private String escape(String keyword) {
+        return keyword.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
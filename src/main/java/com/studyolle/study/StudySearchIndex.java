@@ -0,0 +1,393 @@
+package com.studyolle.study;
+
+import com.studyolle.domain.Study;
+import com.studyolle.domain.Tag;
+import com.studyolle.domain.Zone;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/*
+ * 공개 중인(종료하지 않은) 스터디의 제목, 짧은 소개, 태그, 지역 이름에 대한 메모리 역색인.
+ * 시작할 때 StudyRepository 에서 스트리밍으로 읽어 만들고, 이후에는 StudyService 의 변경이 커밋될 때마다
+ * 해당 스터디만 다시 색인한다. 검색은 DB 를 거치지 않는다.
+ */
+@Slf4j
+@Component
+public class StudySearchIndex {
+
+    private final StudyRepository studyRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Snapshot snapshot = new Snapshot();
+    // 다시 만드는 동안 커밋된 변경. 새 스냅샷으로 바꿔 끼우기 전에 한 번 더 반영한다.
+    private List<Consumer<Snapshot>> changesDuringRebuild;
+
+    public StudySearchIndex(StudyRepository studyRepository, MeterRegistry meterRegistry) {
+        this.studyRepository = studyRepository;
+        Gauge.builder("study.search.index.documents", this, index -> index.read(s -> s.documents.size()))
+                .register(meterRegistry);
+        Gauge.builder("study.search.index.grams", this, index -> index.read(s -> s.postings.size()))
+                .register(meterRegistry);
+        Gauge.builder("study.search.index.memory", this, index -> index.read(Snapshot::estimatedBytes))
+                .baseUnit("bytes")
+                .description("estimated heap used by the study search index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Snapshot fresh = new Snapshot();
+        try {
+            Map<Long, DocumentSource> sources = new LinkedHashMap<>();
+            try (Stream<StudySearchRow> rows = studyRepository.streamSearchableStudies()) {
+                rows.forEach(row -> sources.put(row.getId(), new DocumentSource(row)));
+            }
+            try (Stream<StudyTermRow> rows = studyRepository.streamSearchableTagTitles()) {
+                rows.forEach(row -> addTerm(sources, row, DocumentSource::tags));
+            }
+            try (Stream<StudyTermRow> rows = studyRepository.streamSearchableZoneNames()) {
+                rows.forEach(row -> addTerm(sources, row, DocumentSource::zones));
+            }
+            sources.values().forEach(source -> fresh.put(source.toDocument()));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild.forEach(change -> change.accept(fresh));
+            changesDuringRebuild = null;
+            snapshot = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("study search index rebuilt: {} studies, {} grams in {}ms",
+                fresh.documents.size(), fresh.postings.size(), System.currentTimeMillis() - start);
+    }
+
+    // 검색어의 모든 토큰을 포함하는 스터디를 제목에 많이 들어간 순, 최근 스터디 순으로 돌려준다.
+    public List<Hit> search(String keyword, int limit) {
+        List<String> tokens = StudySearchTokenizer.tokens(StudySearchTokenizer.normalize(keyword));
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Snapshot s = snapshot;
+            int[] candidates = s.candidates(tokens);
+            List<Scored> matched = new ArrayList<>();
+            for (int ordinal : candidates) {
+                Document document = s.byOrdinal[ordinal];
+                int score = document.score(tokens);
+                if (score > 0) {
+                    matched.add(new Scored(document.hit(), score));
+                }
+            }
+            return matched.stream()
+                    .sorted(Comparator.comparingInt(Scored::score).reversed()
+                            .thenComparing(scored -> scored.hit().id(), Comparator.reverseOrder()))
+                    .limit(limit)
+                    .map(Scored::hit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 트랜잭션 안에서 호출한다. 색인할 내용은 지금 읽어 두고, 커밋된 뒤에 반영한다.
+    public void index(Study study) {
+        if (!study.isPublished() || study.isClosed()) {
+            remove(study);
+            return;
+        }
+        Document document = new Document(new Hit(study.getId(), study.getPath(), study.getTitle(),
+                study.getShortDescription(),
+                study.getTags().stream().map(Tag::getTitle).sorted().toList(),
+                study.getZones().stream().map(Zone::getLocalNameOfCity).sorted().toList()),
+                study.getZones().stream().map(Zone::getCity).toList());
+        afterCommit(s -> s.put(document));
+    }
+
+    public void remove(Study study) {
+        Long studyId = study.getId();
+        afterCommit(s -> s.remove(studyId));
+    }
+
+    private void afterCommit(Consumer<Snapshot> change) {
+        Runnable apply = () -> {
+            lock.writeLock().lock();
+            try {
+                change.accept(snapshot);
+                if (changesDuringRebuild != null) {
+                    changesDuringRebuild.add(change);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private double read(ToDoubleFunction<Snapshot> stat) {
+        lock.readLock().lock();
+        try {
+            return stat.applyAsDouble(snapshot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void addTerm(Map<Long, DocumentSource> sources, StudyTermRow row,
+                                Function<DocumentSource, List<String>> target) {
+        DocumentSource source = sources.get(row.getStudyId());
+        if (source != null) {
+            target.apply(source).add(row.getTerm());
+        }
+    }
+
+    public record Hit(Long id, String path, String title, String shortDescription,
+                      List<String> tags, List<String> zones) {
+    }
+
+    private record Scored(Hit hit, int score) {
+    }
+
+    private record DocumentSource(StudySearchRow row, List<String> tags, List<String> zones) {
+        DocumentSource(StudySearchRow row) {
+            this(row, new ArrayList<>(), new ArrayList<>());
+        }
+
+        // 지역 term 은 "서울특별시 Seoul" 처럼 한글 이름 뒤에 영문 이름이 붙어 있다.
+        Document toDocument() {
+            List<String> localNames = new ArrayList<>();
+            List<String> cities = new ArrayList<>();
+            for (String zone : zones) {
+                int space = zone.indexOf(' ');
+                localNames.add(space < 0 ? zone : zone.substring(0, space));
+                cities.add(space < 0 ? "" : zone.substring(space + 1));
+            }
+            return new Document(new Hit(row.getId(), row.getPath(), row.getTitle(), row.getShortDescription(),
+                    tags.stream().sorted().toList(), localNames.stream().sorted().toList()), cities);
+        }
+    }
+
+    private static final class Document {
+        private final Hit hit;
+        private final String title;
+        private final String titleInitials;
+        private final String text;
+        private final String initials;
+
+        Document(Hit hit, List<String> cities) {
+            this.hit = hit;
+            this.title = StudySearchTokenizer.normalize(hit.title());
+            this.titleInitials = StudySearchTokenizer.initials(title);
+            StringBuilder sb = new StringBuilder(title);
+            Stream.of(List.of(nullToEmpty(hit.shortDescription())), hit.tags(), hit.zones(), cities)
+                    .flatMap(List::stream)
+                    .forEach(value -> sb.append('\n').append(StudySearchTokenizer.normalize(value)));
+            this.text = sb.toString();
+            this.initials = StudySearchTokenizer.initials(text);
+        }
+
+        Hit hit() {
+            return hit;
+        }
+
+        Set<String> grams() {
+            Set<String> grams = StudySearchTokenizer.grams(text);
+            grams.addAll(StudySearchTokenizer.grams(initials));
+            return grams;
+        }
+
+        // bigram 이 모두 겹쳐도 실제로는 이어지지 않을 수 있어서 원문에 토큰이 그대로 들어 있는지 다시 확인한다.
+        int score(List<String> tokens) {
+            int score = 0;
+            for (String token : tokens) {
+                boolean initialsOnly = StudySearchTokenizer.isInitialsOnly(token);
+                if (!(initialsOnly ? initials : text).contains(token)) {
+                    return 0;
+                }
+                boolean inTitle = (initialsOnly ? titleInitials : title).contains(token);
+                score += inTitle ? 2 : 1;
+            }
+            return score;
+        }
+
+        long estimatedBytes() {
+            long strings = 0;
+            for (String value : List.of(text, initials, title, titleInitials)) {
+                strings += 40 + value.length() * 2L;
+            }
+            return strings + 200;
+        }
+
+        private static String nullToEmpty(String value) {
+            return value == null ? "" : value;
+        }
+    }
+
+    private static class Snapshot {
+        final Map<Long, Integer> ordinals = new HashMap<>();
+        final Map<Long, Document> documents = new HashMap<>();
+        Document[] byOrdinal = new Document[1024];
+        int size;
+
+        final Map<String, Postings> postings = new HashMap<>();
+
+        void put(Document document) {
+            Long studyId = document.hit().id();
+            remove(studyId);
+            int ordinal = ordinalOf(studyId);
+            byOrdinal[ordinal] = document;
+            documents.put(studyId, document);
+            for (String gram : document.grams()) {
+                postings.computeIfAbsent(gram, key -> new Postings()).add(ordinal);
+            }
+        }
+
+        void remove(Long studyId) {
+            Document document = documents.remove(studyId);
+            if (document == null) {
+                return;
+            }
+            int ordinal = ordinals.get(studyId);
+            byOrdinal[ordinal] = null;
+            for (String gram : document.grams()) {
+                Postings list = postings.get(gram);
+                if (list != null && list.remove(ordinal) && list.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+
+        // 검색어 토큰의 bigram 목록을 짧은 것부터 교집합한다.
+        int[] candidates(List<String> tokens) {
+            Set<String> grams = new HashSet<>();
+            for (String token : tokens) {
+                StudySearchTokenizer.addGrams(token, grams);
+            }
+            List<Postings> lists = new ArrayList<>();
+            for (String gram : grams) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            int[] result = Arrays.copyOf(lists.get(0).ordinals, lists.get(0).size);
+            for (int i = 1; i < lists.size() && result.length > 0; i++) {
+                Postings list = lists.get(i);
+                result = Arrays.stream(result).filter(list::contains).toArray();
+            }
+            return result;
+        }
+
+        long estimatedBytes() {
+            long bytes = 0;
+            for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+                bytes += 32 + 40 + entry.getKey().length() * 2L + 32 + entry.getValue().ordinals.length * 4L;
+            }
+            for (Document document : documents.values()) {
+                bytes += 2 * 32 + document.estimatedBytes();
+            }
+            return bytes + byOrdinal.length * 8L;
+        }
+
+        private int ordinalOf(Long studyId) {
+            Integer ordinal = ordinals.get(studyId);
+            if (ordinal != null) {
+                return ordinal;
+            }
+            if (size == byOrdinal.length) {
+                byOrdinal = Arrays.copyOf(byOrdinal, size * 2);
+            }
+            ordinals.put(studyId, size);
+            return size++;
+        }
+    }
+
+    // 정렬된 순번 목록. 대부분의 bigram 은 소수의 스터디에만 나오므로 비트맵보다 작다.
+    private static class Postings {
+        int[] ordinals = new int[4];
+        int size;
+
+        void add(int ordinal) {
+            int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            System.arraycopy(ordinals, index, ordinals, index + 1, size - index);
+            ordinals[index] = ordinal;
+            size++;
+        }
+
+        boolean remove(int ordinal) {
+            int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ordinals, index + 1, ordinals, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int ordinal) {
+            return Arrays.binarySearch(ordinals, 0, size, ordinal) >= 0;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.studyolle.study;
+
+// 검색 색인을 만들 때 필요한 스터디 컬럼만 읽어오는 프로젝션
+public interface StudySearchRow {
+
+    Long getId();
+
+    String getPath();
+
+    String getTitle();
+
+    String getShortDescription();
+}
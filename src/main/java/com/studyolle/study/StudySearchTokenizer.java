@@ -0,0 +1,90 @@
+package com.studyolle.study;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/*
+ * 스터디 검색 색인용 토크나이저.
+ * 한글은 띄어쓰기만으로는 단어를 자를 수 없어서 글자와 숫자로 이뤄진 토큰을 두 글자씩(bigram) 잘라 색인하고,
+ * 한글 음절은 초성으로도 바꿔서 색인해 "ㅅㅍㄹ"처럼 초성만 입력해도 찾을 수 있게 한다.
+ */
+final class StudySearchTokenizer {
+
+    private static final char HANGUL_BEGIN = '가';
+    private static final char HANGUL_END = '힣';
+    private static final int SYLLABLES_PER_INITIAL = 21 * 28;
+    private static final String INITIALS = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+
+    private StudySearchTokenizer() {
+    }
+
+    // 조합형으로 들어온 한글(NFD)을 완성형으로 맞추고 소문자로 바꾼다.
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    // 한글 음절을 초성으로 바꾼다. 한글이 아닌 글자는 그대로 둔다.
+    static String initials(String normalized) {
+        StringBuilder sb = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            sb.append(isSyllable(c) ? INITIALS.charAt((c - HANGUL_BEGIN) / SYLLABLES_PER_INITIAL) : c);
+        }
+        return sb.toString();
+    }
+
+    static List<String> tokens(String normalized) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean letter = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // 한 글자 토큰은 그대로, 두 글자 이상은 bigram 으로 자른다.
+    static Set<String> grams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String token : tokens(normalized)) {
+            addGrams(token, grams);
+        }
+        return grams;
+    }
+
+    static void addGrams(String token, Set<String> grams) {
+        if (token.length() == 1) {
+            grams.add(token);
+            return;
+        }
+        for (int i = 0; i + 2 <= token.length(); i++) {
+            grams.add(token.substring(i, i + 2));
+        }
+    }
+
+    // 초성(ㄱ~ㅎ)으로만 이뤄진 검색어인지
+    static boolean isInitialsOnly(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (INITIALS.indexOf(token.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return !token.isEmpty();
+    }
+
+    private static boolean isSyllable(char c) {
+        return c >= HANGUL_BEGIN && c <= HANGUL_END;
+    }
+}
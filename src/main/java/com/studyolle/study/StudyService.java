@@ -1,15 +1,22 @@
 package com.studyolle.study;
 
+import com.studyolle.config.CacheConfig;
 import com.studyolle.domain.Account;
 import com.studyolle.domain.Study;
 import com.studyolle.domain.Tag;
 import com.studyolle.domain.Zone;
 import com.studyolle.event.form.EventForm;
+import com.studyolle.image.ImageStore;
+import com.studyolle.image.ImageVariant;
+import com.studyolle.image.ImageVariants;
+import com.studyolle.outbox.DomainEventOutbox;
+import com.studyolle.outbox.OutboxEventType;
 import com.studyolle.study.form.StudyDescriptionForm;
 import com.studyolle.study.form.StudyForm;
 import com.studyolle.tag.TagRepository;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,7 +28,10 @@ public class StudyService {
 
     private final StudyRepository studyRepository;
     private final ModelMapper modelMapper;
-
+    private final DomainEventOutbox domainEventOutbox;
+    private final StudySearchIndex studySearchIndex;
+    private final ImageStore imageStore;
+    private final ImageVariants imageVariants;
 
     public Study createStudy(Study study, Account account) {
         Study newStudy = studyRepository.save(study);
@@ -47,10 +57,12 @@ public class StudyService {
 
     public void updateStudyDescription(Study study, StudyDescriptionForm studyDescriptionForm) {
         modelMapper.map(studyDescriptionForm, study);
+        studySearchIndex.index(study);
     }
 
     public void updateStudyImage(Study study, String image) {
-        study.setImage(image);
+        study.setImageHash(imageStore.resolve(image));
+        imageVariants.prepare(study.getImageHash(), ImageVariant.BANNER, ImageVariant.CARD);
     }
 
     public void enableStudyBanner(Study study) {
@@ -71,10 +83,12 @@ public class StudyService {
 
     public void addTag(Study study, Tag tag) {
         study.getTags().add(tag);
+        studySearchIndex.index(study);
     }
 
     public void removeTag(Study study, Tag tag) {
         study.getTags().remove(tag);
+        studySearchIndex.index(study);
     }
 
     public Study getStudyToUpdateZone(Account account, String path) {
@@ -87,10 +101,12 @@ public class StudyService {
 
     public void addZone(Study study, Zone zone) {
         study.getZones().add(zone);
+        studySearchIndex.index(study);
     }
 
     public void removeZone(Study study, Zone zone) {
         study.getZones().remove(zone);
+        studySearchIndex.index(study);
     }
 
     public Study getStudyToUpdateStatus(Account account, String path) {
@@ -103,14 +119,18 @@ public class StudyService {
 
     public void publish(Study study) {
         study.publish();
+        domainEventOutbox.append(OutboxEventType.STUDY_PUBLISHED, study.getId());
+        studySearchIndex.index(study);
     }
 
     public void close(Study study) {
         study.close();
+        studySearchIndex.remove(study);
     }
 
     public void startRecruit(Study study) {
         study.startRecruit();
+        domainEventOutbox.append(OutboxEventType.STUDY_RECRUITING_STARTED, study.getId());
     }
 
     public void stopRecruit(Study study) {
@@ -126,6 +146,7 @@ public class StudyService {
 
     public void updateStudyPath(Study study, String newPath) {
         study.setPath(newPath);
+        studySearchIndex.index(study);
     }
 
     public boolean isValidTitle(String newTitle) {
@@ -134,6 +155,7 @@ public class StudyService {
 
     public void updateStudyTitle(Study study, String newTitle) {
         study.setTitle(newTitle);
+        studySearchIndex.index(study);
     }
 
     public void remove(Study study) {
@@ -144,25 +166,37 @@ public class StudyService {
         }
     }
 
+    @CacheEvict(cacheNames = CacheConfig.HOME_FEED, key = "#account.id")
     public void addMember(Study study, Account account) {
         study.addMember(account);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.HOME_FEED, key = "#account.id")
     public void removeMember(Study study, Account account) {
         study.removeMember(account);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.HOME_FEED, key = "#account.id")
     public Study createNewStudy(Study study, Account account) {
         Study newStudy = this.createStudy(study, account);
         newStudy.addManager(account);
         return newStudy;
     }
 
-    public Study getStudyToEnroll(String path) {
-        Study study = studyRepository.findStudyOnlyByPath(path);
+    public StudyRef getStudyToEnroll(String path) {
+        StudyRef study = studyRepository.findStudyRefByPath(path);
         if (study == null) {
             throw new IllegalArgumentException(path + "에 해당하는 스터디가 없습니다.");
         }
         return study;
     }
+
+    // 엔티티를 읽지 않고 관리자인지만 확인한다.
+    public StudyRef getStudyRefToManage(Account account, String path) {
+        StudyRef study = getStudyToEnroll(path);
+        if (!studyRepository.existsByPathAndManagersId(path, account.getId())) {
+            throw new AccessDeniedException("해당 기능을 사용할 수 없습니다.");
+        }
+        return study;
+    }
 }
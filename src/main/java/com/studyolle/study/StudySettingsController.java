@@ -1,12 +1,11 @@
 package com.studyolle.study;
 
 import com.studyolle.account.CurrentUser;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.studyolle.domain.Account;
 import com.studyolle.domain.Study;
 import com.studyolle.domain.Tag;
 import com.studyolle.domain.Zone;
+import com.studyolle.image.InvalidImageException;
 import com.studyolle.settings.form.TagForm;
 import com.studyolle.settings.form.ZoneForm;
 import com.studyolle.study.form.StudyDescriptionForm;
@@ -23,7 +22,6 @@ import org.springframework.validation.Errors;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
 import java.util.stream.Collectors;
 
 @Controller
@@ -37,7 +35,6 @@ public class StudySettingsController {
     private final TagService tagService;
     private final TagRepository tagRepository;
     private final ZoneRepository zoneRepository;
-    private final ObjectMapper objectMapper;
 
     @GetMapping("/description")
     public String viewStudySetting(@CurrentUser Account account, @PathVariable String path, Model model) {
@@ -75,9 +72,16 @@ public class StudySettingsController {
 
     @PostMapping("/banner")
     public String studyImageSubmit(@CurrentUser Account account, @PathVariable String path,
-                                   String image, RedirectAttributes attributes) {
+                                   String image, Model model, RedirectAttributes attributes) {
         Study study = studyService.getStudyToUpdate(account, path);
-        studyService.updateStudyImage(study, image);
+        try {
+            studyService.updateStudyImage(study, image);
+        } catch (InvalidImageException e) {
+            model.addAttribute(account);
+            model.addAttribute(study);
+            model.addAttribute("message", e.getMessage());
+            return "study/settings/banner";
+        }
         attributes.addFlashAttribute("message", "스터디 이미지를 수정했습니다.");
         return "redirect:/study/" + study.getEncodedPath() + "/settings/banner";
     }
@@ -97,8 +101,7 @@ public class StudySettingsController {
     }
 
     @GetMapping("/tags")
-    public String studyTagsForm(@CurrentUser Account account, @PathVariable String path, Model model)
-            throws JsonProcessingException {
+    public String studyTagsForm(@CurrentUser Account account, @PathVariable String path, Model model) {
         Study study = studyService.getStudyToUpdate(account, path);
         model.addAttribute(account);
         model.addAttribute(study);
@@ -106,10 +109,6 @@ public class StudySettingsController {
         model.addAttribute("tags", study.getTags().stream()
                 .map(Tag::getTitle).collect(Collectors.toList()));
 
-        List<String> allTagTitles = tagRepository.findAll().stream()
-                .map(Tag::getTitle).collect(Collectors.toList());
-        model.addAttribute("whitelist", objectMapper.writeValueAsString(allTagTitles));
-
         return "study/settings/tags";
     }
 
@@ -138,15 +137,12 @@ public class StudySettingsController {
     }
 
     @GetMapping("/zones")
-    public String studyZonesForm(@CurrentUser Account account, @PathVariable String path, Model model)
-            throws JsonProcessingException {
+    public String studyZonesForm(@CurrentUser Account account, @PathVariable String path, Model model) {
         Study study = studyService.getStudyToUpdate(account, path);
         model.addAttribute(account);
         model.addAttribute(study);
         model.addAttribute("zones", study.getZones().stream()
                 .map(Zone::toString).collect(Collectors.toList()));
-        List<String> allZones = zoneRepository.findAll().stream().map(Zone::toString).collect(Collectors.toList());
-        model.addAttribute("whitelist", objectMapper.writeValueAsString(allZones));
         return "study/settings/zones";
     }
 
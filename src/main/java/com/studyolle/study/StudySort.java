@@ -0,0 +1,7 @@
+package com.studyolle.study;
+
+public enum StudySort {
+    // RECENT: 공개일 최신순
+    // MEMBERS: 멤버 수 많은 순
+    RECENT, MEMBERS;
+}
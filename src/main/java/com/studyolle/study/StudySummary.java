@@ -0,0 +1,17 @@
+package com.studyolle.study;
+
+import com.studyolle.domain.Study;
+import com.studyolle.image.ImageStore;
+import com.studyolle.image.ImageVariant;
+
+import java.time.LocalDateTime;
+
+// 목록 화면에서 쓰는 스터디 요약. @Lob 컬럼(fullDescription)은 읽지 않는다.
+public record StudySummary(Long id, String path, String title, String shortDescription, int memberCount,
+                           LocalDateTime publishedDateTime, boolean published, boolean recruiting,
+                           String imageHash) {
+
+    public String cardImage() {
+        return imageHash != null ? ImageStore.url(imageHash, ImageVariant.CARD) : Study.DEFAULT_IMAGE;
+    }
+}
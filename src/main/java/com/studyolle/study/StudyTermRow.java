@@ -0,0 +1,9 @@
+package com.studyolle.study;
+
+// 검색 색인을 만들 때 스터디마다 붙은 태그 이름, 지역 이름을 한 줄씩 읽어오는 프로젝션
+public interface StudyTermRow {
+
+    Long getStudyId();
+
+    String getTerm();
+}
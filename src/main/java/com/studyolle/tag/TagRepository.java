@@ -1,12 +1,24 @@
 package com.studyolle.tag;
 
 import com.studyolle.domain.Tag;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.List;
 
+// 태그 목록과 조회 결과는 쿼리 캐시(tag-queries)에 둔다. 태그가 추가되면 Hibernate 가 이 결과를 무효로 만든다.
 @Transactional(readOnly = true)
-public interface TagRepository extends JpaRepository<Tag, Long> {
+public interface TagRepository extends JpaRepository<Tag, Long>, TagRepositoryExtension {
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "tag-queries")})
+    @Override
+    List<Tag> findAll();
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "tag-queries")})
     Tag findByTitle(String tagTitle);
 }
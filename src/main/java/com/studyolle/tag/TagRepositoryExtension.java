@@ -0,0 +1,13 @@
+package com.studyolle.tag;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface TagRepositoryExtension {
+
+    // 제목이 같은 태그가 없을 때만 만들고, 주어진 제목마다 태그 id 를 돌려준다.
+    @Transactional
+    Map<String, Long> upsertAll(Collection<String> titles);
+}
@@ -0,0 +1,85 @@
+package com.studyolle.tag;
+
+import com.studyolle.domain.Tag;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * 조회한 뒤 저장하면 같은 태그를 동시에 추가할 때 유니크 제약 위반으로 요청이 실패한다.
+ * 없는 제목만 PostgreSQL 은 INSERT ... ON CONFLICT DO NOTHING, H2 는 MERGE 로 넣는다.
+ * 네이티브 쿼리에 Tag 를 동기화 대상으로 지정해서 tag 2차 캐시와 쿼리 캐시(tag-queries)가 무효가 되게 한다.
+ */
+@RequiredArgsConstructor
+public class TagRepositoryExtensionImpl implements TagRepositoryExtension {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Map<String, Long> upsertAll(Collection<String> titles) {
+        Collection<String> distinct = new LinkedHashSet<>(titles);
+        Map<String, Long> ids = findIds(distinct);
+        List<String> missing = new ArrayList<>();
+        for (String title : distinct) {
+            if (!ids.containsKey(title)) {
+                missing.add(title);
+            }
+        }
+        if (missing.isEmpty()) {
+            return ids;
+        }
+
+        if (isPostgreSQL()) {
+            // 제목 여러 개를 한 문장으로 넣는다.
+            entityManager.createNativeQuery("insert into tag (id, title) " +
+                            "select nextval('tag_seq'), s.title from unnest(array[:titles]) as s(title) " +
+                            "on conflict (title) do nothing")
+                    .unwrap(NativeQuery.class)
+                    .addSynchronizedEntityClass(Tag.class)
+                    .setParameterList("titles", missing)
+                    .executeUpdate();
+        } else {
+            // H2 는 같은 JVM 안의 메모리 DB 라서 한 건씩 넣어도 왕복 비용이 없다.
+            for (String title : missing) {
+                entityManager.createNativeQuery("merge into tag t " +
+                                "using (select cast(:title as varchar(255)) as title) s on t.title = s.title " +
+                                "when not matched then insert (id, title) values (next value for tag_seq, s.title)")
+                        .unwrap(NativeQuery.class)
+                        .addSynchronizedEntityClass(Tag.class)
+                        .setParameter("title", title)
+                        .executeUpdate();
+            }
+        }
+
+        ids.putAll(findIds(missing));
+        return ids;
+    }
+
+    private Map<String, Long> findIds(Collection<String> titles) {
+        Map<String, Long> ids = new HashMap<>();
+        if (titles.isEmpty()) {
+            return ids;
+        }
+        List<Object[]> rows = entityManager.createQuery("select t.title, t.id from Tag t where t.title in :titles", Object[].class)
+                .setParameter("titles", titles)
+                .getResultList();
+        for (Object[] row : rows) {
+            ids.put((String) row[0], (Long) row[1]);
+        }
+        return ids;
+    }
+
+    private boolean isPostgreSQL() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+}
@@ -1,22 +1,79 @@
 package com.studyolle.tag;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.studyolle.domain.Tag;
+import com.studyolle.whitelist.Whitelists;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+ * 태그 제목 -> id 캐시를 먼저 보고, 없으면 upsert 로 찾거나 만든다.
+ * upsert 는 호출한 쪽 트랜잭션과 따로 바로 커밋한다. H2 의 MERGE 는 같은 제목을 동시에 넣으면
+ * 유니크 제약 위반이 날 수 있는데, 그때 호출한 쪽 트랜잭션까지 롤백되지 않고 새 트랜잭션에서 다시 찾게 하기 위해서다.
+ */
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class TagService {
 
+    static final int MAX_ATTEMPTS = 3;
+
     private final TagRepository tagRepository;
+    private final Whitelists whitelists;
+
+    // 태그는 지우지 않으므로 만료 없이 크기만 제한한다. 지워진 id 를 만나면 그 항목만 버린다.
+    private final Cache<String, Long> tagIds = Caffeine.newBuilder().maximumSize(10_000).build();
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Tag findOrCreateNew(String tagTitle) {
-        Tag tag = tagRepository.findByTitle(tagTitle);
-        if (tag == null) {
-            tag = tagRepository.save(Tag.builder().title(tagTitle).build());
+        Long id = tagIds.getIfPresent(tagTitle);
+        if (id != null) {
+            Optional<Tag> tag = tagRepository.findById(id);
+            if (tag.isPresent()) {
+                return tag.get();
+            }
+            tagIds.invalidate(tagTitle);
+        }
+        return findOrCreateAll(List.of(tagTitle)).get(0);
+    }
+
+    // 태그를 한꺼번에 가져올 때 쓴다. 제목 순서대로, 중복은 하나로 합쳐서 돌려준다.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Tag> findOrCreateAll(Collection<String> tagTitles) {
+        Map<String, Long> ids = upsertAll(tagTitles);
+        ids.forEach((title, id) -> {
+            tagIds.put(title, id);
+            whitelists.addTag(title);
+        });
+
+        Map<Long, Tag> tags = tagRepository.findAllById(ids.values()).stream()
+                .collect(Collectors.toMap(Tag::getId, Function.identity()));
+        List<Tag> result = new ArrayList<>(ids.size());
+        tagTitles.stream().distinct().forEach(title -> result.add(tags.get(ids.get(title))));
+        return result;
+    }
+
+    private Map<String, Long> upsertAll(Collection<String> tagTitles) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return tagRepository.upsertAll(tagTitles);
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
         }
-        return tag;
     }
 }
@@ -0,0 +1,83 @@
+package com.studyolle.whitelist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/*
+ * 대소문자를 구분하지 않는 접두어 검색용 트라이.
+ * 자식 노드를 문자 순서로 들고 있어서 깊이 우선으로 돌면 결과가 정렬된 순서로 나온다.
+ * 동기화하지 않으므로 Whitelist 의 락 안에서만 쓴다.
+ */
+class PrefixTrie {
+
+    private final Node root = new Node();
+    private int size;
+
+    // 새 값이면 true
+    boolean add(String value) {
+        Node node = root;
+        String key = fold(value);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+        }
+        if (node.values == null) {
+            node.values = new TreeSet<>();
+        }
+        boolean added = node.values.add(value);
+        if (added) {
+            size++;
+        }
+        return added;
+    }
+
+    List<String> search(String prefix, int limit) {
+        List<String> result = new ArrayList<>(Math.min(limit, size));
+        Node node = root;
+        String key = fold(prefix);
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node != null) {
+            collect(node, result, limit);
+        }
+        return result;
+    }
+
+    List<String> all() {
+        return search("", size);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static void collect(Node node, List<String> result, int limit) {
+        if (node.values != null) {
+            for (String value : node.values) {
+                if (result.size() >= limit) {
+                    return;
+                }
+                result.add(value);
+            }
+        }
+        for (Node child : node.children.values()) {
+            if (result.size() >= limit) {
+                return;
+            }
+            collect(child, result, limit);
+        }
+    }
+
+    private static String fold(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new TreeMap<>();
+        private TreeSet<String> values;
+    }
+}
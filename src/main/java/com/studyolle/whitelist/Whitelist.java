@@ -0,0 +1,114 @@
+package com.studyolle.whitelist;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Tagify 자동 완성에 쓰는 값 목록.
+ * 값은 트라이에 바로 더하고, 응답 본문(WhitelistSnapshot)은 바뀐 뒤 처음 요청될 때 한 번만 다시 만든다.
+ * 태그가 여러 개 연달아 생겨도 직렬화와 압축은 다음 요청 때 한 번이면 된다.
+ */
+public class Whitelist {
+
+    private final ObjectMapper objectMapper;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private PrefixTrie trie = new PrefixTrie();
+    private volatile WhitelistSnapshot snapshot;
+    // 테이블에서 다시 읽는 동안 더해진 값. 새 트라이로 바꿀 때 다시 더한다.
+    private List<String> addedDuringRebuild;
+
+    Whitelist(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    // 테이블을 읽기 전에 부른다. 이때부터 replaceAll() 까지 더해진 값은 읽은 목록에 없을 수 있다.
+    void startRebuild() {
+        lock.writeLock().lock();
+        try {
+            addedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void cancelRebuild() {
+        lock.writeLock().lock();
+        try {
+            addedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void replaceAll(Collection<String> values) {
+        PrefixTrie fresh = new PrefixTrie();
+        values.forEach(fresh::add);
+        lock.writeLock().lock();
+        try {
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.forEach(fresh::add);
+                addedDuringRebuild = null;
+            }
+            trie = fresh;
+            snapshot = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void add(String value) {
+        lock.writeLock().lock();
+        try {
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.add(value);
+            }
+            if (trie.add(value)) {
+                snapshot = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public WhitelistSnapshot snapshot() {
+        WhitelistSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        lock.writeLock().lock();
+        try {
+            if (snapshot == null) {
+                snapshot = WhitelistSnapshot.of(objectMapper.writeValueAsBytes(trie.all()));
+            }
+            return snapshot;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<String> search(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return trie.search(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return trie.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
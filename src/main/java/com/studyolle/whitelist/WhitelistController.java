@@ -0,0 +1,78 @@
+package com.studyolle.whitelist;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class WhitelistController {
+
+    static final int MAX_SEARCH_LIMIT = 50;
+
+    private final Whitelists whitelists;
+
+    @GetMapping("/api/tags/whitelist")
+    public ResponseEntity<byte[]> tagWhitelist(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return whitelist(whitelists.tags().snapshot(), ifNoneMatch, acceptEncoding);
+    }
+
+    @GetMapping("/api/zones/whitelist")
+    public ResponseEntity<byte[]> zoneWhitelist(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return whitelist(whitelists.zones().snapshot(), ifNoneMatch, acceptEncoding);
+    }
+
+    @GetMapping("/api/tags/search")
+    public List<String> searchTags(@RequestParam(defaultValue = "") String prefix,
+                                   @RequestParam(defaultValue = "10") int limit) {
+        return whitelists.tags().search(prefix, Math.max(0, Math.min(limit, MAX_SEARCH_LIMIT)));
+    }
+
+    @GetMapping("/api/zones/search")
+    public List<String> searchZones(@RequestParam(defaultValue = "") String prefix,
+                                    @RequestParam(defaultValue = "10") int limit) {
+        return whitelists.zones().search(prefix, Math.max(0, Math.min(limit, MAX_SEARCH_LIMIT)));
+    }
+
+    // 목록이 바뀌지 않았으면 본문 없이 304 를 돌려주고, gzip 을 받는 브라우저에는 미리 압축해 둔 본문을 보낸다.
+    private static ResponseEntity<byte[]> whitelist(WhitelistSnapshot snapshot, String ifNoneMatch, String acceptEncoding) {
+        boolean notModified = ifNoneMatch != null
+                && (ifNoneMatch.equals(snapshot.etag()) || ifNoneMatch.equals("W/" + snapshot.etag()));
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (notModified) {
+            return response.build();
+        }
+        response.contentType(MediaType.APPLICATION_JSON);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return response.body(snapshot.json());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
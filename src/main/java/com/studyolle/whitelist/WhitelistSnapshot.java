@@ -0,0 +1,35 @@
+package com.studyolle.whitelist;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+// 직렬화한 JSON 과 gzip 으로 압축한 본문, 내용 해시로 만든 ETag 를 한 번만 만들어 두고 모든 요청에 그대로 내보낸다.
+public record WhitelistSnapshot(byte[] json, byte[] gzip, String etag) {
+
+    static WhitelistSnapshot of(byte[] json) {
+        return new WhitelistSnapshot(json, gzip(json), "\"" + sha256(json) + "\"");
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] json) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.studyolle.whitelist;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studyolle.domain.Tag;
+import com.studyolle.domain.Zone;
+import com.studyolle.tag.TagRepository;
+import com.studyolle.zone.ZoneRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 태그와 지역 자동 완성 목록. 새 태그는 TagService 가 만들 때마다 더하고, 누락에 대비해 주기적으로 다시 읽는다.
+@Slf4j
+@Component
+public class Whitelists {
+
+    private final TagRepository tagRepository;
+    private final ZoneRepository zoneRepository;
+
+    private final Whitelist tags;
+    private final Whitelist zones;
+
+    public Whitelists(TagRepository tagRepository, ZoneRepository zoneRepository, ObjectMapper objectMapper) {
+        this.tagRepository = tagRepository;
+        this.zoneRepository = zoneRepository;
+        this.tags = new Whitelist(objectMapper);
+        this.zones = new Whitelist(objectMapper);
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.whitelist.rebuild-millis:600000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        // 읽는 동안 커밋된 태그는 읽은 목록에 없을 수 있으므로, 그동안 더해진 값을 새 목록에 다시 더한다.
+        tags.startRebuild();
+        zones.startRebuild();
+        List<String> tagTitles;
+        List<String> zoneNames;
+        try {
+            tagTitles = tagRepository.findAll().stream().map(Tag::getTitle).collect(Collectors.toList());
+            zoneNames = zoneRepository.findAll().stream().map(Zone::toString).collect(Collectors.toList());
+        } catch (RuntimeException e) {
+            tags.cancelRebuild();
+            zones.cancelRebuild();
+            throw e;
+        }
+        tags.replaceAll(tagTitles);
+        zones.replaceAll(zoneNames);
+        log.info("whitelists rebuilt: {} tags, {} zones in {}ms",
+                tagTitles.size(), zoneNames.size(), System.currentTimeMillis() - start);
+    }
+
+    // 롤백된 태그가 목록에 들어가지 않도록 트랜잭션이 커밋된 뒤에 더한다.
+    public void addTag(String title) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    tags.add(title);
+                }
+            });
+        } else {
+            tags.add(title);
+        }
+    }
+
+    public Whitelist tags() {
+        return tags;
+    }
+
+    public Whitelist zones() {
+        return zones;
+    }
+}
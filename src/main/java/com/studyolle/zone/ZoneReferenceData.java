@@ -0,0 +1,55 @@
+package com.studyolle.zone;
+
+import com.studyolle.domain.Zone;
+import com.studyolle.referencedata.ReferenceDataSet;
+import com.studyolle.whitelist.Whitelists;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// zones_kr.csv: 도시 영문 이름, 한글 이름, 도(province)
+@Component
+@RequiredArgsConstructor
+public class ZoneReferenceData implements ReferenceDataSet {
+
+    private final Whitelists whitelists;
+
+    @Override
+    public String name() {
+        return "zones_kr";
+    }
+
+    @Override
+    public Resource resource() {
+        return new ClassPathResource("zones_kr.csv");
+    }
+
+    @Override
+    public Class<?> entityClass() {
+        return Zone.class;
+    }
+
+    @Override
+    public String table() {
+        return "zone";
+    }
+
+    @Override
+    public List<String> columns() {
+        return List.of("city", "local_name_of_city", "province");
+    }
+
+    @Override
+    public List<String> keyColumns() {
+        return List.of("city", "province");
+    }
+
+    // 지역 자동 완성 목록에 바로 반영한다.
+    @Override
+    public void afterLoad() {
+        whitelists.rebuild();
+    }
+}
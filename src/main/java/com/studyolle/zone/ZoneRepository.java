@@ -1,9 +1,22 @@
 package com.studyolle.zone;
 
 import com.studyolle.domain.Zone;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
+
+// 지역 목록과 조회 결과는 쿼리 캐시(zone-queries)에 둔다.
 public interface ZoneRepository extends JpaRepository<Zone, Long> {
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "zone-queries")})
+    @Override
+    List<Zone> findAll();
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "zone-queries")})
     Zone findByCityAndProvince(String cityName, String provinceName);
 }
@@ -3,6 +3,9 @@ package com.studyolle.Main;
 import com.studyolle.account.AccountRepository;
 import com.studyolle.account.AccountService;
 import com.studyolle.account.SignUpForm;
+import com.studyolle.account.WithAccount;
+import com.studyolle.domain.Study;
+import com.studyolle.study.StudyService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,6 +14,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -27,6 +32,7 @@ class MainControllerTest {
     @Autowired private MockMvc mockMvc;
     @Autowired private AccountService accountService;
     @Autowired private AccountRepository accountRepository;
+    @Autowired private StudyService studyService;
 
     @BeforeEach
     void beforeEach() {
@@ -89,5 +95,26 @@ class MainControllerTest {
 
     }
 
+    @DisplayName("로그인한 사용자의 홈 화면 - 관리중인 스터디")
+    @Test
+    @Transactional
+    @WithAccount("feeder")
+    void home_with_feed() throws Exception {
+        Study study = new Study();
+        study.setPath("feed-study");
+        study.setTitle("feed study");
+        study.setShortDescription("short description");
+        study.setFullDescription("full description");
+        studyService.createNewStudy(study, accountRepository.findByNickname("feeder"));
 
+        MvcResult result = mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("index"))
+                .andExpect(model().attributeExists("homeFeed"))
+                .andReturn();
+        HomeFeed homeFeed = (HomeFeed) result.getModelAndView().getModel().get("homeFeed");
+        assertEquals(1, homeFeed.managingStudies().size());
+        assertEquals("feed-study", homeFeed.managingStudies().get(0).path());
+        assertTrue(homeFeed.recommendedStudies().isEmpty());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.studyolle.account;
+
+import com.studyolle.domain.Account;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.authenticated;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AccountServiceTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired AccountService accountService;
+    @Autowired AccountRepository accountRepository;
+    @Autowired PasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void afterEach() {
+        accountRepository.deleteAll();
+    }
+
+    @DisplayName("로그인 정보 조회 - 이메일, 닉네임 모두 같은 계정")
+    @Test
+    void loadUserByEmailOrNickname() {
+        Account account = accountRepository.save(Account.builder()
+                .nickname("loginuser").email("loginuser@email.com").password("password").build());
+
+        UserAccount byNickname = (UserAccount) accountService.loadUserByUsername("loginuser");
+        UserAccount byEmail = (UserAccount) accountService.loadUserByUsername("loginuser@email.com");
+
+        assertEquals(account.getId(), byNickname.getAccountId());
+        assertEquals(account.getId(), byEmail.getAccountId());
+        assertEquals("loginuser", byEmail.getNickname());
+        assertThrows(UsernameNotFoundException.class, () -> accountService.loadUserByUsername("nobody"));
+    }
+
+    @DisplayName("닉네임, 비밀번호 변경 - 캐시된 로그인 정보를 지운다")
+    @Test
+    void evictCredentialsOnUpdate() {
+        Account account = accountRepository.save(Account.builder()
+                .nickname("loginuser").email("loginuser@email.com").password("password").build());
+        accountService.loadUserByUsername("loginuser");
+        accountService.loadUserByUsername("loginuser@email.com");
+
+        accountService.updateNickname(account, "loginuser2");
+        accountService.updatePassword(account, "newpassword");
+
+        assertThrows(UsernameNotFoundException.class, () -> accountService.loadUserByUsername("loginuser"));
+        UserAccount byEmail = (UserAccount) accountService.loadUserByUsername("loginuser@email.com");
+        assertEquals("loginuser2", byEmail.getNickname());
+        assertTrue(passwordEncoder.matches("newpassword", byEmail.getPassword()));
+    }
+
+    @DisplayName("로그인 - 낮은 cost 로 저장된 비밀번호를 현재 cost 로 다시 해시")
+    @Test
+    void rehashOnLogin() throws Exception {
+        String weak = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("password");
+        Account account = accountRepository.save(Account.builder()
+                .nickname("rehashuser").email("rehashuser@email.com").password(weak).build());
+        assertTrue(passwordEncoder.upgradeEncoding(weak));
+
+        mockMvc.perform(formLogin().user("rehashuser").password("password"))
+                .andExpect(authenticated().withUsername("rehashuser"));
+
+        String rehashed = accountRepository.findById(account.getId()).orElseThrow().getPassword();
+        assertNotEquals(weak, rehashed);
+        assertFalse(passwordEncoder.upgradeEncoding(rehashed));
+        assertTrue(passwordEncoder.matches("password", rehashed));
+    }
+}
@@ -0,0 +1,10 @@
+package com.studyolle.account;
+
+// 기본 설정: 쿼리 한 번 + 로그인 정보 캐시
+class CachedLoginBenchmarkTest extends LoginThroughputBenchmark {
+
+    @Override
+    String mode() {
+        return "h2 cached";
+    }
+}
@@ -0,0 +1,94 @@
+package com.studyolle.account;
+
+import com.studyolle.domain.Account;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+ * 로그인(폼 로그인, remember-me 자동 로그인)마다 부르는 loadUserByUsername 의 초당 처리 수를 잰다. (H2)
+ * 비밀번호 비교는 빼고 계정을 찾는 비용만 본다. 아이디는 이메일과 닉네임을 번갈아 쓴다.
+ * 하위 클래스가 로그인 정보 캐시 설정을 정하고, 결과는 로그로 남긴다. ./gradlew benchmark 로 실행한다.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+abstract class LoginThroughputBenchmark {
+
+    static final int ACCOUNTS = 1_000;
+    static final int THREADS = 8;
+    static final int LOGINS_PER_THREAD = 10_000;
+
+    @Autowired AccountService accountService;
+    @Autowired AccountRepository accountRepository;
+
+    abstract String mode();
+
+    @BeforeEach
+    void beforeEach() {
+        List<Account> accounts = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts.add(Account.builder().nickname("login" + i).email("login" + i + "@email.com").password("password").build());
+        }
+        accountRepository.saveAll(accounts);
+    }
+
+    @AfterEach
+    void afterEach() {
+        accountRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void logins() throws Exception {
+        // JIT 와 커넥션 풀을 데운다.
+        login(1, 1_000);
+
+        long start = System.nanoTime();
+        int logins = login(THREADS, LOGINS_PER_THREAD);
+        long elapsedMicros = Math.max(1, (System.nanoTime() - start) / 1000);
+        log.info("[{}] {} threads x {} logins: {} ms, {} logins/s", mode(), THREADS, LOGINS_PER_THREAD,
+                elapsedMicros / 1000, logins * 1_000_000L / elapsedMicros);
+        assertEquals(THREADS * LOGINS_PER_THREAD, logins);
+    }
+
+    private int login(int threads, int loginsPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    int found = 0;
+                    for (int i = 0; i < loginsPerThread; i++) {
+                        int n = (offset * 31 + i) % ACCOUNTS;
+                        String username = i % 2 == 0 ? "login" + n : "login" + n + "@email.com";
+                        if (accountService.loadUserByUsername(username) instanceof UserAccount) {
+                            found++;
+                        }
+                    }
+                    return found;
+                }));
+            }
+            int logins = 0;
+            for (Future<Integer> future : futures) {
+                logins += future.get(5, TimeUnit.MINUTES);
+            }
+            return logins;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
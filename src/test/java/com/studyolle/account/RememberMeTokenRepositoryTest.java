@@ -0,0 +1,150 @@
+package com.studyolle.account;
+
+import com.studyolle.config.AppProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.web.authentication.rememberme.PersistentRememberMeToken;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class RememberMeTokenRepositoryTest {
+
+    static final int THREADS = 32;
+    static final int ROTATIONS = 200;
+
+    @Autowired RememberMeTokenRepository tokenRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired AppProperties appProperties;
+
+    @AfterEach
+    void afterEach() {
+        tokenRepository.flush();
+        jdbcTemplate.update("delete from persistent_logins");
+    }
+
+    @DisplayName("같은 series 와 각자의 series 를 동시에 갱신 - 같은 토큰을 바꾸는 요청은 하나만 성공하고 메모리와 테이블이 같다")
+    @Test
+    void concurrentRotation() throws Exception {
+        String shared = UUID.randomUUID().toString();
+        tokenRepository.createNewToken(new PersistentRememberMeToken("shared", shared, "initial", new Date()));
+        tokenRepository.flush();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rotated = new AtomicInteger();
+        List<Future<PersistentRememberMeToken>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    String own = UUID.randomUUID().toString();
+                    tokenRepository.createNewToken(new PersistentRememberMeToken("user" + thread, own, "0", new Date()));
+                    start.await();
+                    for (int i = 0; i < ROTATIONS; i++) {
+                        assertNotNull(tokenRepository.getTokenForSeries(shared));
+                        try {
+                            tokenRepository.updateToken(shared, UUID.randomUUID().toString(), new Date());
+                            rotated.incrementAndGet();
+                        } catch (OptimisticLockingFailureException e) {
+                            // 다른 스레드가 먼저 바꿨다.
+                        }
+                        tokenRepository.updateToken(own, String.valueOf(i + 1), new Date());
+                        if (i % 50 == 0) {
+                            tokenRepository.flush();
+                        }
+                    }
+                    return tokenRepository.getTokenForSeries(own);
+                }));
+            }
+            start.countDown();
+            List<PersistentRememberMeToken> owns = new ArrayList<>();
+            for (Future<PersistentRememberMeToken> future : futures) {
+                owns.add(future.get(1, TimeUnit.MINUTES));
+            }
+            tokenRepository.flush();
+
+            // 마지막으로 성공한 교체의 토큰이 쿠키로 나갔다. 그 쿠키로 찾으면 테이블의 토큰과 같다.
+            assertTrue(rotated.get() > 0);
+            String latest = tokenInTable(shared);
+            tokenRepository.refresh(shared, latest);
+            assertEquals(latest, tokenRepository.getTokenForSeries(shared).getTokenValue());
+            for (PersistentRememberMeToken own : owns) {
+                assertEquals(String.valueOf(ROTATIONS), own.getTokenValue());
+                assertEquals(String.valueOf(ROTATIONS), tokenInTable(own.getSeries()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @DisplayName("다른 서버가 바꾼 토큰 - 메모리의 예전 토큰으로는 바꾸지 못하고, 쿠키의 토큰이 다르면 테이블에서 다시 읽는다")
+    @Test
+    void rotatedOnAnotherNode() {
+        RememberMeTokenRepository otherNode = new RememberMeTokenRepository(jdbcTemplate, appProperties);
+        String series = UUID.randomUUID().toString();
+        tokenRepository.createNewToken(new PersistentRememberMeToken("nodes", series, "1", new Date()));
+        tokenRepository.flush();
+        assertEquals("1", otherNode.getTokenForSeries(series).getTokenValue());
+
+        tokenRepository.updateToken(series, "2", new Date());
+        assertEquals("1", otherNode.getTokenForSeries(series).getTokenValue());
+        assertThrows(OptimisticLockingFailureException.class, () -> otherNode.updateToken(series, "3", new Date()));
+        assertEquals("2", tokenInTable(series));
+
+        otherNode.refresh(series, "2");
+        assertEquals("2", otherNode.getTokenForSeries(series).getTokenValue());
+        otherNode.updateToken(series, "3", new Date());
+        assertEquals("3", tokenInTable(series));
+    }
+
+    @DisplayName("로그아웃 - 아직 쓰지 않은 갱신이 지운 토큰을 되살리지 않는다")
+    @Test
+    void removeUserTokensBeforeFlush() {
+        String series = UUID.randomUUID().toString();
+        tokenRepository.createNewToken(new PersistentRememberMeToken("logout", series, "1", new Date()));
+        tokenRepository.flush();
+        tokenRepository.updateToken(series, "2", new Date());
+
+        tokenRepository.removeUserTokens("logout");
+        tokenRepository.flush();
+
+        assertNull(tokenRepository.getTokenForSeries(series));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from persistent_logins where username = ?",
+                Integer.class, "logout"));
+    }
+
+    @DisplayName("메모리에 없는 series - 테이블에서 읽어 온다")
+    @Test
+    void hydrateOnMiss() {
+        String series = UUID.randomUUID().toString();
+        jdbcTemplate.update("insert into persistent_logins (username, series, token, last_used) values (?, ?, ?, ?)",
+                "restarted", series, "stored", new Timestamp(System.currentTimeMillis()));
+
+        PersistentRememberMeToken token = tokenRepository.getTokenForSeries(series);
+
+        assertEquals("restarted", token.getUsername());
+        assertEquals("stored", token.getTokenValue());
+    }
+
+    private String tokenInTable(String series) {
+        return jdbcTemplate.queryForObject("select token from persistent_logins where series = ?", String.class, series);
+    }
+}
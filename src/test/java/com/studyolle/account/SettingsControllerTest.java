@@ -6,8 +6,14 @@ import com.studyolle.account.AccountService;
 import com.studyolle.account.SignUpForm;
 import com.studyolle.domain.Account;
 import com.studyolle.domain.Tag;
+import com.studyolle.domain.Zone;
 import com.studyolle.settings.form.TagForm;
+import com.studyolle.referencedata.ReferenceDataLoader;
 import com.studyolle.tag.TagRepository;
+import com.studyolle.whitelist.Whitelists;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -19,6 +25,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -44,7 +51,10 @@ class SettingsControllerTest {
 
     @Autowired
     TagRepository tagRepository;
+    @Autowired ReferenceDataLoader referenceDataLoader;
+    @Autowired Whitelists whitelists;
     @Autowired AccountService accountService;
+    @Autowired EntityManagerFactory entityManagerFactory;
 
     @AfterEach
     void afterEach() {
@@ -58,7 +68,6 @@ class SettingsControllerTest {
         mockMvc.perform(get("/settings/tags"))
                 .andExpect(view().name("settings/tags"))
                 .andExpect(model().attributeExists("account"))
-                .andExpect(model().attributeExists("whitelist"))
                 .andExpect(model().attributeExists("tags"));
     }
 
@@ -148,6 +157,22 @@ class SettingsControllerTest {
         assertNull(yongbon.getBio());
     }
 
+    @WithAccount("yongbon")
+    @DisplayName("프로필 수정 - 이미지가 아닌 값은 입력값 에러")
+    @Test
+    void updateProfile_with_wrong_image() throws Exception {
+        mockMvc.perform(post("/settings/profile")
+                        .param("bio", "이미지가 잘못된 경우")
+                        .param("profileImage", "data:text/plain;base64,PHN2Zy8+")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeHasFieldErrors("profile", "profileImage"))
+                .andExpect(view().name("settings/profile"));
+        Account yongbon = accountRepository.findByNickname("yongbon");
+        assertNull(yongbon.getBio());
+        assertNull(yongbon.getProfileImageHash());
+    }
+
     @WithAccount("yongbon")
     @DisplayName("패스워드 수정 폼")
     @Test
@@ -189,4 +214,33 @@ class SettingsControllerTest {
                 .andExpect(model().hasErrors())
                 .andExpect(view().name("settings/password"));
     }
-}
\ No newline at end of file
+
+    @WithAccount("yongbon")
+    @DisplayName("태그, 지역 수정 폼과 자동 완성 목록 - 두 번째부터는 참조 데이터를 2차 캐시에서 읽음")
+    @Test
+    void referenceDataFromSecondLevelCache() throws Exception {
+        // 지역 데이터를 넣고 나면 캐시를 비우므로 다 넣은 뒤에 잰다.
+        referenceDataLoader.loaded().get(1, TimeUnit.MINUTES);
+        loadReferenceData();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long queryCacheMisses = statistics.getQueryCacheMissCount();
+        long queryCacheHits = statistics.getQueryCacheHitCount();
+        long zoneLoadsFromDatabase = statistics.getEntityStatistics(Zone.class.getName()).getLoadCount();
+
+        loadReferenceData();
+
+        assertEquals(queryCacheMisses, statistics.getQueryCacheMissCount());
+        assertEquals(queryCacheHits + 2, statistics.getQueryCacheHitCount());
+        assertEquals(zoneLoadsFromDatabase, statistics.getEntityStatistics(Zone.class.getName()).getLoadCount());
+    }
+
+    // 수정 폼과 자동 완성 목록을 요청하고, 자동 완성 목록을 테이블에서 다시 만든다.
+    private void loadReferenceData() throws Exception {
+        mockMvc.perform(get("/settings/tags")).andExpect(status().isOk());
+        mockMvc.perform(get("/settings/zones")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/tags/whitelist")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/zones/whitelist")).andExpect(status().isOk());
+        whitelists.rebuild();
+    }
+}
@@ -0,0 +1,13 @@
+package com.studyolle.account;
+
+import org.springframework.test.context.TestPropertySource;
+
+// 캐시 없이 로그인마다 프로젝션 쿼리 한 번
+@TestPropertySource(properties = "app.login.credentials-cache-ttl=0s")
+class UncachedLoginBenchmarkTest extends LoginThroughputBenchmark {
+
+    @Override
+    String mode() {
+        return "h2 uncached";
+    }
+}
@@ -0,0 +1,68 @@
+package com.studyolle.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffloadedPasswordEncoderTest {
+
+    @DisplayName("대기열이 가득 차면 기다리지 않고 거절")
+    @Test
+    void rejectWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OffloadedPasswordEncoder encoder = new OffloadedPasswordEncoder(slow, 10, executor, meterRegistry);
+        try {
+            // 워커 하나가 해시 중이고, 대기열 한 칸이 찬 상태
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+            while (executor.getThreadPoolExecutor().getQueue().isEmpty()) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(PasswordHashingRejectedException.class, () -> encoder.encode("third"));
+            assertEquals(1, meterRegistry.counter("password.hash.rejected").count());
+
+            release.countDown();
+            assertEquals("first", running.get(10, TimeUnit.SECONDS));
+            assertEquals("second", queued.get(10, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.studyolle.config;
+
+import com.studyolle.StudyolleApplication;
+import com.studyolle.account.AccountCredentials;
+import com.studyolle.account.AccountRepository;
+import com.studyolle.account.RememberMeTokenRepository;
+import com.studyolle.account.UserAccount;
+import com.studyolle.domain.Account;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * 무상태 모드에서 서버 두 대를 띄우고 한 서버에서 로그인한 쿠키로 다른 서버에 요청한다.
+ * 두 서버는 같은 H2 메모리 DB 를 쓰고, 세션은 어디에도 저장하지 않는다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.session.stateless=true",
+        "app.session.keys=" + StatelessSessionTest.KEY,
+        "spring.datasource.url=" + StatelessSessionTest.DATASOURCE_URL})
+class StatelessSessionTest {
+
+    static final String KEY = "AAECAwQFBgcICQoLDA0ODxAREhMUFRYXGBkaGxwdHh8=";
+    static final String OLD_KEY = "ZGVmZ2hpamtsbW5vcHFyc3R1dnd4eXp7fH1+f4CBgoM=";
+    static final String DATASOURCE_URL = "jdbc:h2:mem:stateless;DB_CLOSE_DELAY=-1";
+    static final Pattern CSRF = Pattern.compile("name=\"_csrf\" value=\"([^\"]+)\"");
+
+    static ConfigurableApplicationContext secondNode;
+
+    @LocalServerPort int port;
+    @Autowired AccountRepository accountRepository;
+    @Autowired PasswordEncoder passwordEncoder;
+    @Autowired RememberMeTokenRepository tokenRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @BeforeEach
+    void beforeEach() {
+        if (secondNode == null) {
+            // 스키마는 이 테스트의 컨텍스트가 만든다. 2차 캐시는 같은 JVM 의 다른 컨텍스트와 나눠 쓰지 않게 끈다.
+            secondNode = new SpringApplicationBuilder(StudyolleApplication.class).run(
+                    "--server.port=0",
+                    "--app.session.stateless=true",
+                    "--app.session.keys=" + KEY,
+                    "--spring.datasource.url=" + DATASOURCE_URL,
+                    "--spring.jpa.hibernate.ddl-auto=none",
+                    "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                    "--spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        }
+        Account account = Account.builder()
+                .nickname("stateless")
+                .email("stateless@email.com")
+                .password(passwordEncoder.encode("12345678"))
+                .emailVerified(true)
+                .build();
+        accountRepository.save(account);
+    }
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("delete from persistent_logins");
+        accountRepository.deleteAll();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        if (secondNode != null) {
+            secondNode.close();
+        }
+    }
+
+    @DisplayName("한 서버에서 로그인 - 다른 서버에서도 세션 없이 로그인 상태")
+    @Test
+    void loginOnOneNodeUseAnother() throws Exception {
+        String first = "http://localhost:" + port;
+        String second = "http://localhost:" + ((WebServerApplicationContext) secondNode).getWebServer().getPort();
+
+        HttpResponse<String> login = login(first, "");
+        assertEquals(302, login.statusCode());
+        assertTrue(login.headers().firstValue("Location").orElseThrow().endsWith("/"));
+        assertNull(cookie(login, "JSESSIONID"));
+        String session = cookie(login, "STUDYOLLE_SESSION");
+        assertNotNull(session);
+
+        HttpResponse<String> onSecond = client.send(HttpRequest.newBuilder(URI.create(second + "/notifications"))
+                .header("Cookie", "STUDYOLLE_SESSION=" + session).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, onSecond.statusCode());
+
+        HttpResponse<String> tampered = client.send(HttpRequest.newBuilder(URI.create(second + "/notifications"))
+                .header("Cookie", "STUDYOLLE_SESSION=" + tamper(session)).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(302, tampered.statusCode());
+    }
+
+    @DisplayName("remember-me - 한 서버에서 바꾼 토큰으로 다른 서버에 다시 로그인")
+    @Test
+    void rememberMeRotatedOnAnotherNode() throws Exception {
+        String first = "http://localhost:" + port;
+        String second = "http://localhost:" + ((WebServerApplicationContext) secondNode).getWebServer().getPort();
+
+        HttpResponse<String> login = login(first, "&remember-me=on");
+        assertEquals(302, login.statusCode());
+        String issued = cookie(login, "remember-me");
+        assertNotNull(issued);
+        // 첫 번째 서버가 알고 있는 토큰을 테이블에 넣는다.
+        tokenRepository.flush();
+
+        // 처음 보는 토큰이므로 두 번째 서버는 테이블에서 읽고, 토큰을 바꿔서 돌려준다.
+        HttpResponse<String> onSecond = client.send(HttpRequest.newBuilder(URI.create(second + "/notifications"))
+                .header("Cookie", "remember-me=" + issued).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, onSecond.statusCode());
+        String rotated = cookie(onSecond, "remember-me");
+        assertNotNull(rotated);
+        assertNotEquals(issued, rotated);
+
+        // 첫 번째 서버의 메모리에는 바뀌기 전 토큰이 있다. 쿠키 도용으로 보지 않고 테이블에서 다시 읽는다.
+        HttpResponse<String> onFirst = client.send(HttpRequest.newBuilder(URI.create(first + "/notifications"))
+                .header("Cookie", "remember-me=" + rotated).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, onFirst.statusCode());
+        assertNotNull(cookie(onFirst, "remember-me"));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from persistent_logins where username = ?",
+                Integer.class, "stateless"));
+    }
+
+    @DisplayName("키 교체 - 예전 키로 만든 쿠키는 목록에 남아 있는 동안만 받는다")
+    @Test
+    void keyRotation() {
+        UserAccount userAccount = new UserAccount(new AccountCredentials(1L, "rotation@email.com", "rotation", "", true));
+        String issuedWithOldKey = repository(OLD_KEY).encrypt(userAccount);
+
+        UserAccount rotated = repository(KEY, OLD_KEY).decrypt(issuedWithOldKey);
+        assertEquals(1L, rotated.getAccountId());
+        assertEquals("rotation", rotated.getNickname());
+        assertTrue(rotated.isEmailVerified());
+
+        assertNull(repository(KEY).decrypt(issuedWithOldKey));
+        assertNull(repository(KEY, OLD_KEY).decrypt(tamper(issuedWithOldKey)));
+    }
+
+    private HttpResponse<String> login(String base, String extraParams) throws Exception {
+        HttpResponse<String> loginPage = client.send(HttpRequest.newBuilder(URI.create(base + "/login")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher csrf = CSRF.matcher(loginPage.body());
+        assertTrue(csrf.find());
+
+        return client.send(HttpRequest.newBuilder(URI.create(base + "/login"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .header("Cookie", "XSRF-TOKEN=" + cookie(loginPage, "XSRF-TOKEN"))
+                        .POST(HttpRequest.BodyPublishers.ofString("username=stateless&password=12345678&_csrf="
+                                + URLEncoder.encode(csrf.group(1), StandardCharsets.UTF_8) + extraParams))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static CookieSecurityContextRepository repository(String... keys) {
+        AppProperties.Session session = new AppProperties.Session();
+        session.setStateless(true);
+        session.setKeys(List.of(keys));
+        return new CookieSecurityContextRepository(session);
+    }
+
+    // 가운데 글자(암호문)를 바꾼다.
+    private static String tamper(String value) {
+        int middle = value.length() / 2;
+        char c = value.charAt(middle);
+        return value.substring(0, middle) + (c == 'A' ? 'B' : 'A') + value.substring(middle + 1);
+    }
+
+    private static String cookie(HttpResponse<?> response, String name) {
+        return response.headers().allValues("Set-Cookie").stream()
+                .filter(header -> header.startsWith(name + "="))
+                .map(header -> header.substring(name.length() + 1, header.indexOf(';') < 0 ? header.length() : header.indexOf(';')))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,142 @@
+package com.studyolle.event;
+
+import com.studyolle.account.AccountRepository;
+import com.studyolle.domain.Account;
+import com.studyolle.domain.Enrollment;
+import com.studyolle.domain.Event;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 선착순 모임에 수백 개의 요청이 동시에 몰려도 모집 인원을 넘겨 확정하지 않는지 확인한다.
+@Slf4j
+@SpringBootTest
+class EnrollmentConcurrencyTest {
+
+    static final int LIMIT = 50;
+    static final int ACCOUNTS = 150;
+    static final int DUPLICATE_CLICKS = 50;
+
+    @Autowired EnrollmentCoordinator enrollmentCoordinator;
+    @Autowired EventRepository eventRepository;
+    @Autowired EnrollmentRepository enrollmentRepository;
+    @Autowired AccountRepository accountRepository;
+
+    @AfterEach
+    void afterEach() {
+        enrollmentRepository.deleteAll();
+        eventRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @DisplayName("동시 참가 신청과 취소 - 초과 확정과 중복 신청 없음")
+    @Test
+    void concurrentEnrollments() throws Exception {
+        Event event = createEvent();
+        List<Account> accounts = createAccounts();
+
+        // 앞쪽 계정 일부는 두 번씩 누른다.
+        List<Account> clicks = new ArrayList<>(accounts);
+        clicks.addAll(accounts.subList(0, DUPLICATE_CLICKS));
+        Collections.shuffle(clicks);
+
+        long elapsed = runConcurrently(clicks, account -> enrollmentCoordinator.newEnrollment(event, account));
+        log.info("{} enrollment requests in {} ms ({} req/s)",
+                clicks.size(), elapsed, clicks.size() * 1000L / Math.max(1, elapsed));
+
+        List<Enrollment> enrollments = enrollmentsOf(event);
+        assertEquals(ACCOUNTS, enrollments.size());
+        assertEquals(ACCOUNTS, enrollments.stream().map(e -> e.getAccount().getId()).distinct().count());
+        assertEquals(LIMIT, enrollments.stream().filter(Enrollment::isAccepted).count());
+        assertCounts(event, LIMIT, ACCOUNTS - LIMIT);
+
+        // 확정된 신청 절반이 동시에 취소하면 대기 중인 신청이 그만큼 확정된다.
+        List<Account> cancels = enrollments.stream().filter(Enrollment::isAccepted)
+                .limit(LIMIT / 2).map(Enrollment::getAccount).collect(Collectors.toList());
+        elapsed = runConcurrently(cancels, account -> enrollmentCoordinator.cancelEnrollment(event, account));
+        log.info("{} cancel requests in {} ms", cancels.size(), elapsed);
+
+        enrollments = enrollmentsOf(event);
+        assertEquals(ACCOUNTS - LIMIT / 2, enrollments.size());
+        assertEquals(LIMIT, enrollments.stream().filter(Enrollment::isAccepted).count());
+        assertCounts(event, LIMIT, ACCOUNTS - LIMIT - LIMIT / 2);
+    }
+
+    private void assertCounts(Event event, int accepted, int waiting) {
+        Event saved = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(accepted, saved.getAcceptedCount());
+        assertEquals(waiting, saved.getWaitingCount());
+    }
+
+    private long runConcurrently(List<Account> accounts, AccountTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(accounts.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Account account : accounts) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(account);
+                    return null;
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Enrollment> enrollmentsOf(Event event) {
+        return enrollmentRepository.findAll().stream()
+                .filter(e -> e.getEvent().getId().equals(event.getId()))
+                .collect(Collectors.toList());
+    }
+
+    private Event createEvent() {
+        Event event = new Event();
+        event.setTitle("flash crowd");
+        event.setEventType(EventType.FCFS);
+        event.setLimitOfEnrollments(LIMIT);
+        event.setCreateDateTime(LocalDateTime.now());
+        event.setEndEnrollmentDateTime(LocalDateTime.now().plusDays(1));
+        event.setStartDateTime(LocalDateTime.now().plusDays(2));
+        event.setEndDateTime(LocalDateTime.now().plusDays(3));
+        return eventRepository.save(event);
+    }
+
+    // 가입 절차(비밀번호 해싱, 메일)를 거치지 않고 계정만 저장한다.
+    private List<Account> createAccounts() {
+        return accountRepository.saveAll(IntStream.range(0, ACCOUNTS)
+                .mapToObj(i -> Account.builder()
+                        .nickname("crowd" + i)
+                        .email("crowd" + i + "@email.com")
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    interface AccountTask {
+        void run(Account account) throws Exception;
+    }
+}
@@ -0,0 +1,149 @@
+package com.studyolle.event;
+
+import com.studyolle.account.AccountRepository;
+import com.studyolle.account.UserAccount;
+import com.studyolle.domain.Account;
+import com.studyolle.domain.Enrollment;
+import com.studyolle.domain.Event;
+import com.studyolle.domain.Study;
+import com.studyolle.study.StudyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// 인기 모임이 열릴 때처럼 참가 신청 요청 1만 개를 동시에 보낸다.
+@Slf4j
+@SpringBootTest
+@AutoConfigureMockMvc
+class EnrollmentLoadTest {
+
+    static final int ACCOUNTS = 1_000;
+    static final int ATTEMPTS_PER_ACCOUNT = 10;
+    static final int LIMIT = 100;
+    static final int THREADS = 200;
+
+    @Autowired MockMvc mockMvc;
+    @Autowired StudyRepository studyRepository;
+    @Autowired EventRepository eventRepository;
+    @Autowired EnrollmentRepository enrollmentRepository;
+    @Autowired AccountRepository accountRepository;
+
+    @AfterEach
+    void afterEach() {
+        enrollmentRepository.deleteAll();
+        eventRepository.deleteAll();
+        studyRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @DisplayName("참가 신청 1만 건 동시 요청 - 초과 확정 없음, 중복 키는 한 번만 처리, 나머지는 429")
+    @Test
+    void tenThousandEnrollmentAttempts() throws Exception {
+        Study study = new Study();
+        study.setPath("flash-crowd");
+        study.setTitle("flash crowd");
+        study.setShortDescription("flash crowd");
+        study.setFullDescription("flash crowd");
+        study.setPublished(true);
+        studyRepository.save(study);
+
+        Event event = new Event();
+        event.setStudy(study);
+        event.setTitle("flash crowd");
+        event.setEventType(EventType.FCFS);
+        event.setLimitOfEnrollments(LIMIT);
+        event.setCreateDateTime(LocalDateTime.now());
+        event.setEndEnrollmentDateTime(LocalDateTime.now().plusDays(1));
+        event.setStartDateTime(LocalDateTime.now().plusDays(2));
+        event.setEndDateTime(LocalDateTime.now().plusDays(3));
+        eventRepository.save(event);
+
+        List<Account> accounts = accountRepository.saveAll(IntStream.range(0, ACCOUNTS)
+                .mapToObj(i -> Account.builder().nickname("load" + i).email("load" + i + "@email.com").password("password").build())
+                .collect(Collectors.toList()));
+
+        // 계정마다 같은 키로 두 번씩(중복 클릭), 새 키로 여러 번(새로 고침 후 다시 신청) 보낸다.
+        List<Attempt> attempts = new ArrayList<>();
+        for (Account account : accounts) {
+            for (int i = 0; i < ATTEMPTS_PER_ACCOUNT; i++) {
+                attempts.add(new Attempt(account, account.getNickname() + "-" + (i / 2)));
+            }
+        }
+        Collections.shuffle(attempts);
+
+        String url = "/study/flash-crowd/events/" + event.getId() + "/enroll";
+        ConcurrentMap<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Attempt attempt : attempts) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    MvcResult result = mockMvc.perform(post(url)
+                                    .header(EventController.IDEMPOTENCY_KEY_HEADER, attempt.idempotencyKey())
+                                    .with(user(new UserAccount(attempt.account())))
+                                    .with(csrf()))
+                            .andReturn();
+                    statuses.computeIfAbsent(result.getResponse().getStatus(), s -> new AtomicInteger()).incrementAndGet();
+                    if (result.getResponse().getStatus() == 429) {
+                        assertNotNull(result.getResponse().getHeader("Retry-After"));
+                    }
+                    return null;
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            log.info("{} enrollment attempts in {} ms ({} req/s), statuses {}",
+                    attempts.size(), elapsed, attempts.size() * 1000L / Math.max(1, elapsed), statuses);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(Collections.emptySet(), statuses.keySet().stream()
+                .filter(status -> status != 302 && status != 429).collect(Collectors.toSet()));
+        assertTrue(statuses.containsKey(429));
+
+        List<Enrollment> enrollments = enrollmentRepository.findAll().stream()
+                .filter(e -> e.getEvent().getId().equals(event.getId()))
+                .collect(Collectors.toList());
+        assertEquals(ACCOUNTS, enrollments.size());
+        assertEquals(LIMIT, enrollments.stream().filter(Enrollment::isAccepted).count());
+        Event saved = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(LIMIT, saved.getAcceptedCount());
+        assertEquals(ACCOUNTS - LIMIT, saved.getWaitingCount());
+    }
+
+    record Attempt(Account account, String idempotencyKey) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.studyolle.event;
+
+import com.studyolle.account.AccountRepository;
+import com.studyolle.domain.Account;
+import com.studyolle.domain.Enrollment;
+import com.studyolle.domain.Event;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class EventCountReconcilerTest {
+
+    @Autowired EventCountReconciler eventCountReconciler;
+    @Autowired EventRepository eventRepository;
+    @Autowired EnrollmentRepository enrollmentRepository;
+    @Autowired AccountRepository accountRepository;
+
+    @AfterEach
+    void afterEach() {
+        enrollmentRepository.deleteAll();
+        eventRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @DisplayName("어긋난 신청 수를 테이블 기준으로 바로잡기")
+    @Test
+    void reconcile() {
+        Event event = new Event();
+        event.setTitle("reconcile");
+        event.setEventType(EventType.CONFIRMATIVE);
+        event.setLimitOfEnrollments(10);
+        event.setCreateDateTime(LocalDateTime.now());
+        event.setEndEnrollmentDateTime(LocalDateTime.now().plusDays(1));
+        event.setStartDateTime(LocalDateTime.now().plusDays(2));
+        event.setEndDateTime(LocalDateTime.now().plusDays(3));
+        event = eventRepository.save(event);
+
+        for (int i = 0; i < 3; i++) {
+            Account account = accountRepository.save(Account.builder()
+                    .nickname("reconcile" + i).email("reconcile" + i + "@email.com").build());
+            Enrollment enrollment = new Enrollment();
+            enrollment.setEvent(event);
+            enrollment.setAccount(account);
+            enrollment.setEnrolledAt(LocalDateTime.now());
+            enrollment.setAccepted(i == 0);
+            enrollmentRepository.save(enrollment);
+        }
+        // 카운터가 생기기 전에 만든 모임처럼 0 으로 남아 있거나, 잘못 기록된 경우
+        eventRepository.updateCounts(event.getId(), 5, 0);
+
+        eventCountReconciler.reconcile();
+
+        Event reconciled = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(1, reconciled.getAcceptedCount());
+        assertEquals(2, reconciled.getWaitingCount());
+    }
+}
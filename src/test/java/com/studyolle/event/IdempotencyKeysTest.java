@@ -0,0 +1,47 @@
+package com.studyolle.event;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.enrollment.idempotency-key-wait=200ms")
+class IdempotencyKeysTest {
+
+    @Autowired IdempotencyKeys idempotencyKeys;
+
+    @DisplayName("같은 키의 요청 - 먼저 온 요청이 끝나지 않으면 기다리다가 돌려보내고, 끝난 뒤에는 같은 응답")
+    @Test
+    void waitForInProgressRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() ->
+                idempotencyKeys.execute(1L, "enroll", "slow-key", () -> {
+                    started.countDown();
+                    await(release);
+                    return "first";
+                }));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        assertThrows(IdempotentRequestInProgressException.class,
+                () -> idempotencyKeys.execute(1L, "enroll", "slow-key", () -> "second"));
+
+        release.countDown();
+        assertEquals("first", first.get(10, TimeUnit.SECONDS));
+        assertEquals("first", idempotencyKeys.execute(1L, "enroll", "slow-key", () -> "second"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
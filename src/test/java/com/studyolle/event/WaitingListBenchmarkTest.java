@@ -0,0 +1,116 @@
+package com.studyolle.event;
+
+import com.studyolle.account.AccountRepository;
+import com.studyolle.domain.Account;
+import com.studyolle.domain.Enrollment;
+import com.studyolle.domain.Event;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 대기자가 많아도 확정된 신청 하나를 취소하는 비용(SQL 수)이 늘지 않는지 확인하고 걸린 시간을 남긴다.
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.studyolle.event.WaitingListBenchmarkTest$StatementCounter")
+class WaitingListBenchmarkTest {
+
+    static final int LIMIT = 10;
+
+    @Autowired EventService eventService;
+    @Autowired EventRepository eventRepository;
+    @Autowired EnrollmentRepository enrollmentRepository;
+    @Autowired AccountRepository accountRepository;
+
+    @AfterEach
+    void afterEach() {
+        enrollmentRepository.deleteAll();
+        eventRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @DisplayName("확정된 신청 취소 - 신청 수와 무관한 SQL 수")
+    @Test
+    void cancelCostIndependentOfEnrollments() {
+        int small = measureCancel("small", 100);
+        int large = measureCancel("large", 2_000);
+        assertEquals(small, large);
+    }
+
+    private int measureCancel(String name, int enrollments) {
+        Event event = createEvent(name);
+        List<Account> accounts = accountRepository.saveAll(IntStream.range(0, enrollments)
+                .mapToObj(i -> Account.builder().nickname(name + i).email(name + i + "@email.com").build())
+                .collect(Collectors.toList()));
+        LocalDateTime enrolledAt = LocalDateTime.now().minusDays(1);
+        List<Enrollment> saved = new ArrayList<>();
+        for (int i = 0; i < accounts.size(); i++) {
+            Enrollment enrollment = new Enrollment();
+            enrollment.setEvent(event);
+            enrollment.setAccount(accounts.get(i));
+            enrollment.setEnrolledAt(enrolledAt.plusSeconds(i));
+            enrollment.setAccepted(i < LIMIT);
+            saved.add(enrollment);
+        }
+        enrollmentRepository.saveAll(saved);
+        eventRepository.updateCounts(event.getId(), LIMIT, enrollments - LIMIT);
+
+        StatementCounter.reset();
+        long start = System.nanoTime();
+        eventService.cancelEnrollment(event, accounts.get(0));
+        long elapsedMicros = (System.nanoTime() - start) / 1000;
+        int statements = StatementCounter.count();
+        log.info("cancel with {} enrollments: {} statements, {} us", enrollments, statements, elapsedMicros);
+
+        // 가장 먼저 대기한 신청이 확정된다.
+        assertTrue(enrollmentRepository.findById(saved.get(LIMIT).getId()).orElseThrow().isAccepted());
+        assertFalse(enrollmentRepository.findById(saved.get(LIMIT + 1).getId()).orElseThrow().isAccepted());
+        Event reloaded = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(LIMIT, reloaded.getAcceptedCount());
+        assertEquals(enrollments - LIMIT - 1, reloaded.getWaitingCount());
+        return statements;
+    }
+
+    private Event createEvent(String title) {
+        Event event = new Event();
+        event.setTitle(title);
+        event.setEventType(EventType.FCFS);
+        event.setLimitOfEnrollments(LIMIT);
+        event.setCreateDateTime(LocalDateTime.now());
+        event.setEndEnrollmentDateTime(LocalDateTime.now().plusDays(1));
+        event.setStartDateTime(LocalDateTime.now().plusDays(2));
+        event.setEndDateTime(LocalDateTime.now().plusDays(3));
+        return eventRepository.save(event);
+    }
+
+    // 스케줄러 같은 다른 스레드의 SQL 은 세지 않도록 스레드별로 센다.
+    public static class StatementCounter implements StatementInspector {
+
+        private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+        static void reset() {
+            COUNT.get()[0] = 0;
+        }
+
+        static int count() {
+            return COUNT.get()[0];
+        }
+
+        @Override
+        public String inspect(String sql) {
+            COUNT.get()[0]++;
+            return sql;
+        }
+    }
+}
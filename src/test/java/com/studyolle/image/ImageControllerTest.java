@@ -0,0 +1,85 @@
+package com.studyolle.image;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ImageControllerTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D, 'I', 'H', 'D', 'R'};
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ImageStore imageStore;
+
+    @Test
+    @DisplayName("이미지 조회 - 영구 캐시 헤더와 ETag")
+    void image() throws Exception {
+        String hash = imageStore.storeDataUrl("data:image/png;base64," + Base64.getEncoder().encodeToString(PNG));
+
+        mockMvc.perform(get("/image/" + hash))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(PNG))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + hash + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"));
+
+        mockMvc.perform(get("/image/" + hash).header(HttpHeaders.IF_NONE_MATCH, "\"" + hash + "\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("이미지 저장 - 같은 내용은 같은 해시, 이미지가 아니면 거절")
+    void store() {
+        assertEquals(imageStore.store(PNG), imageStore.resolve(ImageStore.url(imageStore.store(PNG))));
+        assertThrows(IllegalArgumentException.class, () -> imageStore.store("<svg/>".getBytes()));
+    }
+
+    @Test
+    @DisplayName("크기별 이미지 조회 - 카드, 아바타")
+    void variant() throws Exception {
+        BufferedImage image = new BufferedImage(800, 400, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        String hash = imageStore.store(png.toByteArray());
+
+        byte[] card = mockMvc.perform(get("/image/" + hash + "/card"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/jpeg"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + hash + "-card\""))
+                .andReturn().getResponse().getContentAsByteArray();
+        BufferedImage cardImage = ImageIO.read(new ByteArrayInputStream(card));
+        assertEquals(350, cardImage.getWidth());
+        assertEquals(175, cardImage.getHeight());
+
+        byte[] avatar = mockMvc.perform(get("/image/" + hash + "/avatar"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        BufferedImage avatarImage = ImageIO.read(new ByteArrayInputStream(avatar));
+        assertEquals(64, avatarImage.getWidth());
+        assertEquals(64, avatarImage.getHeight());
+    }
+
+    @Test
+    @DisplayName("없는 이미지 조회")
+    void image_not_found() throws Exception {
+        mockMvc.perform(get("/image/" + "0".repeat(64)))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,134 @@
+package com.studyolle.mail;
+
+import com.studyolle.config.AppProperties;
+import com.studyolle.domain.OutboundEmail;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 주기 실행은 멈춰 두고, SMTP 대신 받는 사람만 기록하는 JavaMailSender 로 dispatch() 를 직접 부른다.
+@SpringBootTest(properties = "app.mail.poll-interval-millis=3600000")
+class EmailDispatcherTest {
+
+    @Autowired EmailService emailService;
+    @Autowired EmailOutbox emailOutbox;
+    @Autowired OutboundEmailRepository outboundEmailRepository;
+    @Autowired AppProperties appProperties;
+
+    final StubMailSender mailSender = new StubMailSender();
+
+    @AfterEach
+    void afterEach() {
+        outboundEmailRepository.deleteAll();
+    }
+
+    @DisplayName("아웃박스 메일 전송 - 보낸 메일은 SENT, 실패한 메일만 나중에 다시 보낸다")
+    @Test
+    void sendAndRetry() throws Exception {
+        mailSender.rejected.add("fail@email.com");
+        emailService.sendEmail(message("ok@email.com"));
+        emailService.sendEmail(message("fail@email.com"));
+        assertEquals(2, emailOutbox.countPending());
+
+        dispatchAndWait();
+
+        OutboundEmail sent = find("ok@email.com");
+        assertEquals(OutboundEmailStatus.SENT, sent.getStatus());
+        assertNotNull(sent.getSentAt());
+        OutboundEmail failed = find("fail@email.com");
+        assertEquals(OutboundEmailStatus.PENDING, failed.getStatus());
+        assertEquals(1, failed.getAttempts());
+        assertNotNull(failed.getLastError());
+        assertTrue(failed.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals(List.of("ok@email.com"), mailSender.delivered);
+
+        // 다시 보낼 시각을 앞당기고, 이번에는 받는 서버가 받아 준다.
+        failed.setNextAttemptAt(LocalDateTime.now());
+        outboundEmailRepository.save(failed);
+        mailSender.rejected.clear();
+        dispatchAndWait();
+
+        failed = find("fail@email.com");
+        assertEquals(OutboundEmailStatus.SENT, failed.getStatus());
+        assertNull(failed.getLastError());
+        assertEquals(List.of("ok@email.com", "fail@email.com"), mailSender.delivered);
+        assertEquals(0, emailOutbox.countPending());
+    }
+
+    private void dispatchAndWait() throws InterruptedException {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.initialize();
+        EmailDispatcher dispatcher = new EmailDispatcher(emailOutbox, new HtmlEmailService(mailSender),
+                executor, appProperties, new SimpleMeterRegistry());
+
+        dispatcher.dispatch();
+        executor.getThreadPoolExecutor().shutdown();
+        assertTrue(executor.getThreadPoolExecutor().awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private OutboundEmail find(String recipient) {
+        return outboundEmailRepository.findAll().stream()
+                .filter(email -> email.getRecipient().equals(recipient))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static EmailMessage message(String to) {
+        return EmailMessage.builder()
+                .to(to)
+                .subject("스터디올래, 테스트 메일")
+                .message("<p>테스트</p>")
+                .build();
+    }
+
+    // rejected 에 있는 받는 사람에게 가는 메일만 실패시킨다.
+    static class StubMailSender extends JavaMailSenderImpl {
+
+        final List<String> rejected = new CopyOnWriteArrayList<>();
+        final List<String> delivered = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(MimeMessage... mimeMessages) {
+            Map<Object, Exception> failedMessages = new HashMap<>();
+            for (MimeMessage mimeMessage : mimeMessages) {
+                String recipient = recipient(mimeMessage);
+                if (rejected.contains(recipient)) {
+                    failedMessages.put(mimeMessage, new MessagingException("550 mailbox unavailable: " + recipient));
+                } else {
+                    delivered.add(recipient);
+                }
+            }
+            if (!failedMessages.isEmpty()) {
+                throw new MailSendException(failedMessages);
+            }
+        }
+
+        private static String recipient(MimeMessage mimeMessage) {
+            try {
+                return mimeMessage.getAllRecipients()[0].toString();
+            } catch (MessagingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.studyolle.notification;
+
+import com.studyolle.account.AccountRepository;
+import com.studyolle.account.WithAccount;
+import com.studyolle.domain.Account;
+import com.studyolle.domain.Notification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class NotificationControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired AccountRepository accountRepository;
+    @Autowired NotificationRepository notificationRepository;
+    @Autowired NotificationService notificationService;
+
+    @AfterEach
+    void afterEach() {
+        notificationRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @WithAccount("yongbon")
+    @DisplayName("알림함 조회 - 보여준 알림은 읽음 처리")
+    @Test
+    void getNotifications() throws Exception {
+        Account yongbon = accountRepository.findByNickname("yongbon");
+        for (int i = 0; i < NotificationService.PAGE_SIZE + 1; i++) {
+            createNotification(yongbon, "알림 " + i);
+        }
+        assertEquals(NotificationService.PAGE_SIZE + 1, notificationService.countUnread(yongbon.getId()));
+
+        mockMvc.perform(get("/notifications"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("notification/list"))
+                .andExpect(model().attributeExists("notifications"))
+                .andExpect(model().attributeExists("nextBefore"));
+
+        assertEquals(1, notificationService.countUnread(yongbon.getId()));
+    }
+
+    @WithAccount("yongbon")
+    @DisplayName("알림 모두 읽음 - 세션의 계정 id 만으로 처리")
+    @Test
+    void readAll() throws Exception {
+        Account yongbon = accountRepository.findByNickname("yongbon");
+        createNotification(yongbon, "알림 1");
+        createNotification(yongbon, "알림 2");
+        // 캐시에 올려 두고 읽음 처리가 캐시를 지우는지 본다.
+        assertEquals(2, notificationService.countUnread(yongbon.getId()));
+
+        mockMvc.perform(post("/notifications/read-all").with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/notifications"));
+
+        assertEquals(0, notificationService.countUnread(yongbon.getId()));
+    }
+
+    private void createNotification(Account account, String message) {
+        Notification notification = new Notification();
+        notification.setAccount(account);
+        notification.setTitle("스터디");
+        notification.setLink("/study/test");
+        notification.setMessage(message);
+        notification.setCreatedDateTime(LocalDateTime.now());
+        notification.setNotificationType(NotificationType.STUDY_CREATED);
+        notificationRepository.save(notification);
+    }
+}
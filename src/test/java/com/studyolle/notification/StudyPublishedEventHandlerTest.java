@@ -0,0 +1,114 @@
+package com.studyolle.notification;
+
+import com.studyolle.account.AccountRepository;
+import com.studyolle.account.AccountService;
+import com.studyolle.domain.Account;
+import com.studyolle.domain.OutboundEmail;
+import com.studyolle.domain.OutboxEvent;
+import com.studyolle.domain.Study;
+import com.studyolle.domain.Tag;
+import com.studyolle.domain.Zone;
+import com.studyolle.mail.OutboundEmailRepository;
+import com.studyolle.outbox.OutboxEventType;
+import com.studyolle.referencedata.ReferenceDataLoader;
+import com.studyolle.study.StudyRepository;
+import com.studyolle.tag.TagRepository;
+import com.studyolle.zone.ZoneRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class StudyPublishedEventHandlerTest {
+
+    @Autowired StudyPublishedEventHandler studyPublishedEventHandler;
+    @Autowired AccountInterestIndex accountInterestIndex;
+    @Autowired AccountService accountService;
+    @Autowired AccountRepository accountRepository;
+    @Autowired StudyRepository studyRepository;
+    @Autowired TagRepository tagRepository;
+    @Autowired ZoneRepository zoneRepository;
+    @Autowired NotificationRepository notificationRepository;
+    @Autowired OutboundEmailRepository outboundEmailRepository;
+    @Autowired ReferenceDataLoader referenceDataLoader;
+
+    @AfterEach
+    void afterEach() {
+        notificationRepository.deleteAll();
+        outboundEmailRepository.deleteAll();
+        studyRepository.deleteAll();
+        accountRepository.deleteAll();
+        Tag tag = tagRepository.findByTitle("interest");
+        if (tag != null) {
+            tagRepository.delete(tag);
+        }
+        accountInterestIndex.rebuild();
+    }
+
+    @DisplayName("스터디 공개 - 태그와 지역이 모두 겹치는 계정만 웹/이메일 알림을 받는다")
+    @Test
+    void notifyInterestedAccounts() throws Exception {
+        // 지역 데이터는 애플리케이션이 뜬 뒤에 비동기로 넣으므로 다 넣을 때까지 기다린다.
+        referenceDataLoader.loaded().get(1, TimeUnit.MINUTES);
+        Tag tag = tagRepository.save(Tag.builder().title("interest").build());
+        List<Zone> zones = zoneRepository.findAll();
+        Zone zone = zones.get(0);
+        Zone otherZone = zones.get(1);
+
+        Account web = createAccount("web", false, tag, zone);
+        Account both = createAccount("both", true, tag, zone);
+        Account elsewhere = createAccount("elsewhere", true, tag, otherZone);
+        Account noTag = createAccount("notag", true, null, zone);
+
+        Study study = new Study();
+        study.setPath("interest-study");
+        study.setTitle("관심 스터디");
+        study.setShortDescription("관심 주제와 지역이 겹치는 스터디");
+        study.setTags(Set.of(tag));
+        study.setZones(Set.of(zone));
+        studyRepository.save(study);
+
+        // 커밋 이후에 반영된 색인으로 찾는다.
+        studyPublishedEventHandler.handle(List.of(OutboxEvent.of(OutboxEventType.STUDY_PUBLISHED, study.getId())));
+        assertRecipients(web, both, elsewhere, noTag);
+
+        // 테이블에서 다시 만든 색인으로 찾아도 같다.
+        notificationRepository.deleteAll();
+        outboundEmailRepository.deleteAll();
+        accountInterestIndex.rebuild();
+        studyPublishedEventHandler.handle(List.of(OutboxEvent.of(OutboxEventType.STUDY_PUBLISHED, study.getId())));
+        assertRecipients(web, both, elsewhere, noTag);
+    }
+
+    private void assertRecipients(Account web, Account both, Account elsewhere, Account noTag) {
+        assertEquals(1, notificationRepository.countByAccountIdAndChecked(web.getId(), false));
+        assertEquals(1, notificationRepository.countByAccountIdAndChecked(both.getId(), false));
+        assertEquals(0, notificationRepository.countByAccountIdAndChecked(elsewhere.getId(), false));
+        assertEquals(0, notificationRepository.countByAccountIdAndChecked(noTag.getId(), false));
+
+        List<OutboundEmail> emails = outboundEmailRepository.findAll();
+        assertEquals(1, emails.size());
+        assertEquals(both.getEmail(), emails.get(0).getRecipient());
+    }
+
+    private Account createAccount(String nickname, boolean byEmail, Tag tag, Zone zone) {
+        Account account = new Account();
+        account.setNickname(nickname);
+        account.setEmail(nickname + "@email.com");
+        account.setStudyCreatedByEmail(byEmail);
+        accountRepository.save(account);
+        if (tag != null) {
+            accountService.addTag(account, tag);
+        }
+        accountService.addZone(account, zone);
+        return account;
+    }
+}
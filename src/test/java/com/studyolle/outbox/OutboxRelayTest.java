@@ -0,0 +1,127 @@
+package com.studyolle.outbox;
+
+import com.studyolle.domain.OutboxEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 주기 실행은 멈춰 두고 relay() 를 직접 부른다.
+@SpringBootTest(properties = "app.outbox.poll-interval-millis=3600000")
+class OutboxRelayTest {
+
+    @Autowired OutboxRelay outboxRelay;
+    @Autowired DomainEventOutbox domainEventOutbox;
+    @Autowired OutboxEventRepository outboxEventRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired RecordingHandler recordingHandler;
+    @Autowired FlakyHandler flakyHandler;
+
+    @AfterEach
+    void afterEach() {
+        outboxEventRepository.deleteAll();
+        recordingHandler.handled.clear();
+        flakyHandler.calls.set(0);
+    }
+
+    @DisplayName("아웃박스 이벤트 전달 - 실패한 처리기만 다시 시도하고, 성공한 처리기는 다시 부르지 않는다")
+    @Test
+    void retryOnlyFailedHandler() {
+        transactionTemplate.executeWithoutResult(status -> domainEventOutbox.append(OutboxEventType.EVENT_CREATED, 1L));
+
+        outboxRelay.relay();
+
+        OutboxEvent event = outboxEventRepository.findAll().get(0);
+        assertEquals(OutboxEventStatus.PENDING, event.getStatus());
+        assertEquals(1, event.getAttempts());
+        assertTrue(event.getLastError().startsWith("FlakyHandler"));
+        assertTrue(event.isCompletedBy("RecordingHandler"));
+        assertFalse(event.isCompletedBy("FlakyHandler"));
+        assertEquals(List.of(1L), recordingHandler.handled);
+
+        // 다시 시도할 시각을 앞당긴다.
+        event.setNextAttemptAt(LocalDateTime.now());
+        outboxEventRepository.save(event);
+        outboxRelay.relay();
+
+        event = outboxEventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(OutboxEventStatus.PROCESSED, event.getStatus());
+        assertNotNull(event.getProcessedAt());
+        assertEquals(2, flakyHandler.calls.get());
+        assertEquals(List.of(1L), recordingHandler.handled);
+    }
+
+    @DisplayName("아웃박스 이벤트 전달 - 모든 처리기가 성공하면 한 번에 처리 완료")
+    @Test
+    void deliver() {
+        flakyHandler.calls.set(1);
+        transactionTemplate.executeWithoutResult(status -> {
+            domainEventOutbox.append(OutboxEventType.EVENT_CREATED, 2L);
+            domainEventOutbox.append(OutboxEventType.EVENT_CREATED, 3L);
+        });
+
+        outboxRelay.relay();
+
+        assertTrue(outboxEventRepository.findAll().stream().allMatch(e -> e.getStatus() == OutboxEventStatus.PROCESSED));
+        assertEquals(List.of(2L, 3L), recordingHandler.handled);
+        assertEquals(2, flakyHandler.calls.get());
+    }
+
+    @TestConfiguration
+    static class Handlers {
+
+        @Bean
+        RecordingHandler recordingHandler() {
+            return new RecordingHandler();
+        }
+
+        @Bean
+        FlakyHandler flakyHandler() {
+            return new FlakyHandler();
+        }
+    }
+
+    static class RecordingHandler implements OutboxEventHandler {
+
+        final List<Long> handled = new CopyOnWriteArrayList<>();
+
+        @Override
+        public boolean supports(OutboxEventType type) {
+            return type == OutboxEventType.EVENT_CREATED;
+        }
+
+        @Override
+        public void handle(List<OutboxEvent> events) {
+            events.forEach(event -> handled.add(event.getAggregateId()));
+        }
+    }
+
+    // 처음 한 번은 실패한다.
+    static class FlakyHandler implements OutboxEventHandler {
+
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public boolean supports(OutboxEventType type) {
+            return type == OutboxEventType.EVENT_CREATED;
+        }
+
+        @Override
+        public void handle(List<OutboxEvent> events) {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("temporary failure");
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.studyolle.referencedata;
+
+import com.studyolle.zone.ZoneReferenceData;
+import com.studyolle.zone.ZoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.reference-data.batch-size=20")
+class ReferenceDataLoaderTest {
+
+    static final int ZONES = 85;
+
+    @Autowired ReferenceDataLoader referenceDataLoader;
+    @Autowired ReferenceDataVersionRepository versionRepository;
+    @Autowired ZoneReferenceData zoneReferenceData;
+    @Autowired ZoneRepository zoneRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        referenceDataLoader.loaded().get(1, TimeUnit.MINUTES);
+    }
+
+    @DisplayName("시작할 때 zones_kr.csv 를 넣고, 파일이 그대로면 다시 넣지 않음")
+    @Test
+    void loadZones() {
+        assertEquals(ZONES, zoneRepository.count());
+        assertNotNull(zoneRepository.findByCityAndProvince("Andong", "North Gyeongsang"));
+        assertTrue(versionRepository.findById("zones_kr").isPresent());
+
+        jdbcTemplate.update("delete from zone where city = ?", "Andong");
+        referenceDataLoader.load(zoneReferenceData);
+        assertEquals(ZONES - 1, zoneRepository.count());
+    }
+
+    @DisplayName("체크섬이 다르면 없는 행만 다시 넣음")
+    @Test
+    void reloadWhenChecksumChanges() {
+        jdbcTemplate.update("delete from zone where city = ?", "Ansan");
+        jdbcTemplate.update("update reference_data_version set checksum = 'stale' where name = ?", "zones_kr");
+
+        referenceDataLoader.load(zoneReferenceData);
+
+        assertEquals(ZONES, jdbcTemplate.queryForObject("select count(*) from zone", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from zone where city = ?", Integer.class, "Andong"));
+        assertNotEquals("stale", versionRepository.findById("zones_kr").orElseThrow().getChecksum());
+    }
+}
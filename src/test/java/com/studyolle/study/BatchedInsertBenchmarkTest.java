@@ -0,0 +1,10 @@
+package com.studyolle.study;
+
+// 기본 설정(H2): JDBC 배치, INSERT/UPDATE 정렬, pooled-lo 시퀀스
+class BatchedInsertBenchmarkTest extends InsertThroughputBenchmark {
+
+    @Override
+    String mode() {
+        return "h2 batched";
+    }
+}
@@ -0,0 +1,123 @@
+package com.studyolle.study;
+
+import com.studyolle.account.AccountRepository;
+import com.studyolle.domain.Account;
+import com.studyolle.domain.Enrollment;
+import com.studyolle.domain.Event;
+import com.studyolle.domain.Study;
+import com.studyolle.event.EnrollmentRepository;
+import com.studyolle.event.EventRepository;
+import com.studyolle.event.EventType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+ * Account, Study, Event, Enrollment 를 한 트랜잭션에 많이 저장할 때의 초당 INSERT 수를 잰다.
+ * 하위 클래스가 DB 와 배치 설정(배치 전/후)을 정하고, 결과는 로그로 남긴다. ./gradlew benchmark 로 실행한다.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+abstract class InsertThroughputBenchmark {
+
+    static final int ACCOUNTS = 5_000;
+    static final int STUDIES = 1_000;
+    static final int EVENTS = 1_000;
+
+    @Autowired AccountRepository accountRepository;
+    @Autowired StudyRepository studyRepository;
+    @Autowired EventRepository eventRepository;
+    @Autowired EnrollmentRepository enrollmentRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    abstract String mode();
+
+    @AfterEach
+    void afterEach() {
+        enrollmentRepository.deleteAllInBatch();
+        eventRepository.deleteAllInBatch();
+        studyRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void inserts() {
+        // JIT 와 커넥션 풀을 데우고 지운다.
+        insert("warmup", () -> accountRepository.saveAll(accounts("warmup", 500)));
+        accountRepository.deleteAllInBatch();
+
+        List<Account> accounts = insert("Account", () -> accountRepository.saveAll(accounts("bench", ACCOUNTS)));
+        List<Study> studies = insert("Study", () -> studyRepository.saveAll(IntStream.range(0, STUDIES)
+                .mapToObj(this::study).collect(Collectors.toList())));
+        List<Event> events = insert("Event", () -> eventRepository.saveAll(IntStream.range(0, EVENTS)
+                .mapToObj(i -> event(studies.get(i % studies.size()), i)).collect(Collectors.toList())));
+        Event event = events.get(0);
+        List<Enrollment> enrollments = insert("Enrollment", () -> enrollmentRepository.saveAll(accounts.stream()
+                .map(account -> enrollment(event, account)).collect(Collectors.toList())));
+
+        assertEquals(ACCOUNTS, enrollments.size());
+        assertEquals(ACCOUNTS, enrollmentRepository.count());
+    }
+
+    // 저장과 커밋까지 걸린 시간으로 초당 INSERT 수를 계산한다.
+    private <T> List<T> insert(String entity, Supplier<List<T>> save) {
+        long start = System.nanoTime();
+        List<T> saved = transactionTemplate.execute(status -> save.get());
+        long elapsedMicros = Math.max(1, (System.nanoTime() - start) / 1000);
+        log.info("[{}] {} x {}: {} ms, {} inserts/s", mode(), entity, saved.size(),
+                elapsedMicros / 1000, saved.size() * 1_000_000L / elapsedMicros);
+        return saved;
+    }
+
+    private static List<Account> accounts(String prefix, int count) {
+        List<Account> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            accounts.add(Account.builder().nickname(prefix + i).email(prefix + i + "@email.com").password("password").build());
+        }
+        return accounts;
+    }
+
+    private Study study(int i) {
+        Study study = new Study();
+        study.setPath("bench-" + i);
+        study.setTitle("bench " + i);
+        study.setShortDescription("bench");
+        study.setFullDescription("bench");
+        return study;
+    }
+
+    private Event event(Study study, int i) {
+        Event event = new Event();
+        event.setStudy(study);
+        event.setTitle("bench " + i);
+        event.setEventType(EventType.CONFIRMATIVE);
+        event.setLimitOfEnrollments(ACCOUNTS);
+        event.setCreateDateTime(LocalDateTime.now());
+        event.setEndEnrollmentDateTime(LocalDateTime.now().plusDays(1));
+        event.setStartDateTime(LocalDateTime.now().plusDays(2));
+        event.setEndDateTime(LocalDateTime.now().plusDays(3));
+        return event;
+    }
+
+    private static Enrollment enrollment(Event event, Account account) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setEvent(event);
+        enrollment.setAccount(account);
+        enrollment.setEnrolledAt(LocalDateTime.now());
+        return enrollment;
+    }
+}
@@ -0,0 +1,10 @@
+package com.studyolle.study;
+
+// 기본 Tomcat 스레드 풀(플랫폼 스레드 200개)
+class PlatformThreadBenchmarkTest extends RequestThreadingBenchmark {
+
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
@@ -0,0 +1,22 @@
+package com.studyolle.study;
+
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.test.context.TestPropertySource;
+
+/*
+ * 로컬 PostgreSQL 에서 잰다. BENCHMARK_POSTGRES_URL 이 있을 때만 실행하고, 테이블은 만들고 지운다.
+ * 예) BENCHMARK_POSTGRES_URL=jdbc:postgresql://localhost:5432/benchmark?reWriteBatchedInserts=true
+ */
+@EnabledIfEnvironmentVariable(named = "BENCHMARK_POSTGRES_URL", matches = ".+")
+@TestPropertySource(properties = {
+        "spring.datasource.url=${BENCHMARK_POSTGRES_URL}",
+        "spring.datasource.username=${BENCHMARK_POSTGRES_USER:postgres}",
+        "spring.datasource.password=${BENCHMARK_POSTGRES_PASSWORD:}",
+        "spring.jpa.hibernate.ddl-auto=create-drop"})
+class PostgresBatchedInsertBenchmarkTest extends InsertThroughputBenchmark {
+
+    @Override
+    String mode() {
+        return "postgres batched";
+    }
+}
@@ -0,0 +1,23 @@
+package com.studyolle.study;
+
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.test.context.TestPropertySource;
+
+// 배치를 켜기 전 설정을 로컬 PostgreSQL 에서 잰다. (PostgresBatchedInsertBenchmarkTest 참고)
+@EnabledIfEnvironmentVariable(named = "BENCHMARK_POSTGRES_URL", matches = ".+")
+@TestPropertySource(properties = {
+        "spring.datasource.url=${BENCHMARK_POSTGRES_URL}",
+        "spring.datasource.username=${BENCHMARK_POSTGRES_USER:postgres}",
+        "spring.datasource.password=${BENCHMARK_POSTGRES_PASSWORD:}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=0",
+        "spring.jpa.properties.hibernate.order_inserts=false",
+        "spring.jpa.properties.hibernate.order_updates=false",
+        "spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=pooled"})
+class PostgresUnbatchedInsertBenchmarkTest extends InsertThroughputBenchmark {
+
+    @Override
+    String mode() {
+        return "postgres unbatched";
+    }
+}
@@ -0,0 +1,167 @@
+package com.studyolle.study;
+
+import com.studyolle.account.AccountRepository;
+import com.studyolle.account.AccountService;
+import com.studyolle.account.SignUpForm;
+import com.studyolle.domain.Account;
+import com.studyolle.domain.Event;
+import com.studyolle.domain.Study;
+import com.studyolle.event.EventRepository;
+import com.studyolle.event.EventType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+ * 요청 처리 스레드 방식(플랫폼 스레드 풀, 가상 스레드)별로 스터디 화면과 모임 목록 화면의 처리량과 지연 시간을 잰다.
+ * 하위 클래스가 모드를 정하고, 결과는 로그로 남긴다. ./gradlew benchmark 로 실행한다.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+abstract class RequestThreadingBenchmark {
+
+    static final int CONCURRENCY = 400;
+    static final int WARMUP_REQUESTS = 500;
+    static final int REQUESTS = 5_000;
+    static final int EVENTS = 20;
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\" value=\"([^\"]+)\"");
+
+    @LocalServerPort int port;
+    @Autowired AccountService accountService;
+    @Autowired AccountRepository accountRepository;
+    @Autowired StudyService studyService;
+    @Autowired StudyRepository studyRepository;
+    @Autowired EventRepository eventRepository;
+
+    abstract String mode();
+
+    @AfterEach
+    void afterEach() {
+        eventRepository.deleteAll();
+        studyRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void studyPages() throws Exception {
+        SignUpForm signUpForm = new SignUpForm();
+        signUpForm.setNickname("bench");
+        signUpForm.setEmail("bench@email.com");
+        signUpForm.setPassword("12345678");
+        accountService.processNewAccount(signUpForm);
+        Account account = accountRepository.findByNickname("bench");
+
+        Study study = new Study();
+        study.setPath("bench");
+        study.setTitle("bench");
+        study.setShortDescription("bench");
+        study.setFullDescription("bench");
+        studyService.createNewStudy(study, account);
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = new Event();
+            event.setStudy(study);
+            event.setCreatedBy(account);
+            event.setTitle("bench event " + i);
+            event.setEventType(EventType.FCFS);
+            event.setLimitOfEnrollments(10);
+            event.setCreateDateTime(LocalDateTime.now());
+            event.setEndEnrollmentDateTime(LocalDateTime.now().plusDays(1));
+            event.setStartDateTime(LocalDateTime.now().plusDays(2));
+            event.setEndDateTime(LocalDateTime.now().plusDays(3));
+            eventRepository.save(event);
+        }
+
+        HttpClient client = login();
+        run(client, "/study/bench");
+        run(client, "/study/bench/events");
+    }
+
+    private void run(HttpClient client, String path) throws Exception {
+        URI uri = URI.create("http://localhost:" + port + path);
+        measure(client, uri, WARMUP_REQUESTS);
+        long[] latencies = new long[REQUESTS];
+        long startedAt = System.nanoTime();
+        measure(client, uri, latencies);
+        long elapsed = System.nanoTime() - startedAt;
+
+        Arrays.sort(latencies);
+        log.info("[{}] {} : {} requests, concurrency {}, {} req/s, p50 {} ms, p95 {} ms, p99 {} ms",
+                mode(), path, REQUESTS, CONCURRENCY, REQUESTS * 1_000_000_000L / elapsed,
+                millis(latencies, 0.50), millis(latencies, 0.95), millis(latencies, 0.99));
+    }
+
+    private void measure(HttpClient client, URI uri, int requests) throws Exception {
+        measure(client, uri, new long[requests]);
+    }
+
+    private void measure(HttpClient client, URI uri, long[] latencies) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < latencies.length; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    long start = System.nanoTime();
+                    HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                            HttpResponse.BodyHandlers.discarding());
+                    latencies[index] = System.nanoTime() - start;
+                    assertEquals(200, response.statusCode());
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private HttpClient login() throws Exception {
+        HttpClient client = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+        URI loginUri = URI.create("http://localhost:" + port + "/login");
+        String loginPage = client.send(HttpRequest.newBuilder(loginUri).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        Matcher csrf = CSRF.matcher(loginPage);
+        if (!csrf.find()) {
+            throw new IllegalStateException("no csrf token on the login page");
+        }
+        String form = "username=bench&password=12345678&_csrf=" + URLEncoder.encode(csrf.group(1), StandardCharsets.UTF_8);
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(loginUri)
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form)).build(),
+                HttpResponse.BodyHandlers.discarding());
+        assertEquals(302, response.statusCode());
+        return client;
+    }
+
+    private static String millis(long[] sortedNanos, double percentile) {
+        long nanos = sortedNanos[Math.min(sortedNanos.length - 1, (int) (sortedNanos.length * percentile))];
+        return String.format("%.1f", nanos / 1_000_000.0);
+    }
+}
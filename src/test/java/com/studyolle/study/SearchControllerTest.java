@@ -0,0 +1,113 @@
+package com.studyolle.study;
+
+import com.studyolle.account.AccountRepository;
+import com.studyolle.account.WithAccount;
+import com.studyolle.domain.Account;
+import com.studyolle.domain.Study;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class SearchControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired StudyService studyService;
+    @Autowired AccountRepository accountRepository;
+    @Autowired StudySearchIndex studySearchIndex;
+
+    @AfterEach
+    void afterEach() {
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    @WithAccount("yongbon")
+    @DisplayName("스터디 검색 - 공개된 스터디만, 커서로 다음 페이지 조회")
+    @SuppressWarnings("unchecked")
+    void searchStudy() throws Exception {
+        Account yongbon = accountRepository.findByNickname("yongbon");
+        for (int i = 0; i < SearchController.PAGE_SIZE + 2; i++) {
+            Study study = createStudy("spring-" + i, "spring study " + i, yongbon);
+            studyService.publish(study);
+        }
+        createStudy("spring-draft", "spring draft", yongbon);
+
+        MvcResult first = mockMvc.perform(get("/search/study").param("keyword", "spring"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("search"))
+                .andExpect(model().attributeExists("nextCursor"))
+                .andReturn();
+        List<Study> firstPage = (List<Study>) first.getModelAndView().getModel().get("studies");
+        assertEquals(SearchController.PAGE_SIZE, firstPage.size());
+        String nextCursor = (String) first.getModelAndView().getModel().get("nextCursor");
+        assertNotNull(nextCursor);
+
+        MvcResult second = mockMvc.perform(get("/search/study")
+                        .param("keyword", "spring")
+                        .param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeDoesNotExist("nextCursor"))
+                .andReturn();
+        List<Study> secondPage = (List<Study>) second.getModelAndView().getModel().get("studies");
+        assertEquals(2, secondPage.size());
+
+        // 잘못된 커서, 다른 정렬의 커서는 첫 페이지
+        for (String[] params : new String[][]{{"RECENT", "not-a-cursor"}, {"RECENT", "2020-01-01T00:00_x"}, {"MEMBERS", nextCursor}}) {
+            mockMvc.perform(get("/search/study")
+                            .param("keyword", "spring")
+                            .param("sort", params[0])
+                            .param("cursor", params[1]))
+                    .andExpect(status().isOk())
+                    .andExpect(model().attribute("studies", hasSize(SearchController.PAGE_SIZE)))
+                    .andExpect(model().attributeExists("nextCursor"));
+        }
+    }
+
+    @Test
+    @WithAccount("yongbon")
+    @DisplayName("스터디 빠른 검색 - 한글 부분 일치, 초성 검색")
+    void quickSearch() throws Exception {
+        Account yongbon = accountRepository.findByNickname("yongbon");
+        studyService.publish(createStudy("spring-boot", "스프링 부트 입문", yongbon));
+        studyService.publish(createStudy("jpa", "자바 ORM 표준 JPA", yongbon));
+        createStudy("spring-draft", "스프링 초안", yongbon);
+        studySearchIndex.rebuild();
+
+        mockMvc.perform(get("/search/study/quick").param("keyword", "프링"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].path").value("spring-boot"));
+
+        mockMvc.perform(get("/search/study/quick").param("keyword", "ㅅㅍㄹ"))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(get("/search/study/quick").param("keyword", "jpa 자바"))
+                .andExpect(jsonPath("$[0].path").value("jpa"));
+    }
+
+    private Study createStudy(String path, String title, Account manager) {
+        Study study = new Study();
+        study.setPath(path);
+        study.setTitle(title);
+        study.setShortDescription("short description");
+        study.setFullDescription("full description");
+        return studyService.createNewStudy(study, manager);
+    }
+}
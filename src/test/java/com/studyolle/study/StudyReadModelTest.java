@@ -0,0 +1,72 @@
+package com.studyolle.study;
+
+import com.studyolle.account.AccountRepository;
+import com.studyolle.account.WithAccount;
+import com.studyolle.domain.Account;
+import com.studyolle.domain.Study;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 요청 종류별로 스터디의 큰 컬럼(fullDescription)을 읽는지 확인한다.
+@SpringBootTest
+@Transactional
+class StudyReadModelTest {
+
+    @Autowired StudyService studyService;
+    @Autowired StudyRepository studyRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired EntityManager entityManager;
+
+    PersistenceUnitUtil persistenceUnitUtil;
+
+    @BeforeEach
+    void beforeEach() {
+        persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+    }
+
+    @Test
+    @WithAccount("yongbon")
+    @DisplayName("권한 확인, 참가 신청, 소개 화면에서 읽는 컬럼")
+    void fetchedColumnsPerRequest() {
+        Account manager = accountRepository.findByNickname("yongbon");
+        Study study = new Study();
+        study.setPath("read-model");
+        study.setTitle("read model");
+        study.setShortDescription("short description");
+        study.setFullDescription("x".repeat(100_000));
+        studyService.createNewStudy(study, manager);
+        entityManager.flush();
+        entityManager.clear();
+
+        // 상태 변경 화면의 권한 확인: 엔티티는 읽지만 소개 본문은 읽지 않는다.
+        Study forStatus = studyService.getStudyToUpdateStatus(manager, "read-model");
+        assertFalse(persistenceUnitUtil.isLoaded(forStatus, "fullDescription"));
+        entityManager.clear();
+
+        // 참가 신청과 관리자 확인: 엔티티를 하나도 영속성 컨텍스트에 올리지 않는다.
+        StudyRef ref = studyService.getStudyToEnroll("read-model");
+        studyService.getStudyRefToManage(manager, "read-model");
+        assertEquals("read-model", ref.path());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+
+        // 목록 화면: 프로젝션이라 엔티티를 읽지 않는다.
+        studyRepository.findManagingSummaries(manager.getId(), PageRequest.of(0, 5));
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+
+        // 소개 화면: 처음 접근할 때 본문을 읽는다.
+        Study forView = studyService.getStudy("read-model");
+        assertFalse(persistenceUnitUtil.isLoaded(forView, "fullDescription"));
+        assertEquals(100_000, forView.getFullDescription().length());
+        assertTrue(persistenceUnitUtil.isLoaded(forView, "fullDescription"));
+    }
+}
@@ -75,6 +75,23 @@ public class StudySettingsControllerTest extends StudyControllerTest {
                 .andExpect(model().attributeExists("study"));
     }
 
+    @Test
+    @WithAccount("yongbon")
+    @DisplayName("스터디 배너 이미지 수정 - 실패 (이미지가 아닌 값)")
+    void updateBanner_fail() throws Exception {
+        Account yongbon = accountRepository.findByNickname("yongbon");
+        Study study = createStudy("test-study", yongbon);
+
+        mockMvc.perform(post("/study/" + study.getPath() + "/settings/banner")
+                .param("image", "not a data url")
+                .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(view().name("study/settings/banner"))
+                .andExpect(model().attributeExists("message"))
+                .andExpect(model().attributeExists("account"))
+                .andExpect(model().attributeExists("study"));
+    }
+
     private Account createAccount(String nickName) {
         Account whiteship = new Account();
         whiteship.setNickname(nickName);
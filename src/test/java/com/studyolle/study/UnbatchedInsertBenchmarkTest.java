@@ -0,0 +1,17 @@
+package com.studyolle.study;
+
+import org.springframework.test.context.TestPropertySource;
+
+// 배치를 켜기 전 설정(H2): 한 행마다 INSERT 한 번
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.jdbc.batch_size=0",
+        "spring.jpa.properties.hibernate.order_inserts=false",
+        "spring.jpa.properties.hibernate.order_updates=false",
+        "spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=pooled"})
+class UnbatchedInsertBenchmarkTest extends InsertThroughputBenchmark {
+
+    @Override
+    String mode() {
+        return "h2 unbatched";
+    }
+}
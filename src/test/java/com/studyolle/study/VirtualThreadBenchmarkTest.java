@@ -0,0 +1,16 @@
+package com.studyolle.study;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.ActiveProfiles;
+
+// virtual 프로파일. 요청마다 가상 스레드, 커넥션 풀 앞에는 세마포어
+@ActiveProfiles({"local", "virtual"})
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadBenchmarkTest extends RequestThreadingBenchmark {
+
+    @Override
+    String mode() {
+        return "virtual";
+    }
+}
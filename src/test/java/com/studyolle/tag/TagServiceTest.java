@@ -0,0 +1,71 @@
+package com.studyolle.tag;
+
+import com.studyolle.domain.Tag;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TagServiceTest {
+
+    static final int THREADS = 32;
+
+    @Autowired TagService tagService;
+    @Autowired TagRepository tagRepository;
+
+    @AfterEach
+    void afterEach() {
+        tagRepository.deleteAll();
+    }
+
+    @DisplayName("같은 새 태그를 동시에 추가 - 실패 없이 하나만 생성")
+    @Test
+    void concurrentFindOrCreateNew() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Tag>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return tagService.findOrCreateNew("concurrent");
+                }));
+            }
+            start.countDown();
+            List<Long> ids = new ArrayList<>();
+            for (Future<Tag> future : futures) {
+                ids.add(future.get(1, TimeUnit.MINUTES).getId());
+            }
+            assertEquals(1, ids.stream().distinct().count());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, tagRepository.findAll().stream().filter(t -> t.getTitle().equals("concurrent")).count());
+    }
+
+    @DisplayName("여러 태그를 한 번에 찾거나 생성 - 요청한 순서대로, 중복은 하나로")
+    @Test
+    void findOrCreateAll() {
+        Tag existing = tagRepository.save(Tag.builder().title("spring").build());
+
+        List<Tag> tags = tagService.findOrCreateAll(List.of("jpa", "spring", "jpa", "kotlin"));
+
+        assertEquals(List.of("jpa", "spring", "kotlin"), tags.stream().map(Tag::getTitle).collect(Collectors.toList()));
+        assertEquals(existing.getId(), tags.get(1).getId());
+        assertEquals(3, tagRepository.findAll().stream()
+                .filter(t -> List.of("jpa", "spring", "kotlin").contains(t.getTitle())).count());
+    }
+}
@@ -0,0 +1,88 @@
+package com.studyolle.whitelist;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studyolle.account.AccountRepository;
+import com.studyolle.account.WithAccount;
+import com.studyolle.tag.TagRepository;
+import com.studyolle.tag.TagService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class WhitelistControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired TagService tagService;
+    @Autowired TagRepository tagRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired Whitelists whitelists;
+
+    @AfterEach
+    void afterEach() {
+        accountRepository.deleteAll();
+        tagRepository.deleteAll();
+        whitelists.rebuild();
+    }
+
+    @WithAccount("yongbon")
+    @DisplayName("태그 목록 - gzip 본문과 ETag, 바뀌지 않았으면 304, 새 태그가 생기면 새 ETag")
+    @Test
+    void tagWhitelist() throws Exception {
+        tagService.findOrCreateNew("Spring");
+
+        MvcResult result = mockMvc.perform(get("/api/tags/whitelist")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        byte[] json = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray())).readAllBytes();
+        assertTrue(List.of(objectMapper.readValue(json, String[].class)).contains("Spring"));
+
+        mockMvc.perform(get("/api/tags/whitelist").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        tagService.findOrCreateNew("JPA");
+
+        mockMvc.perform(get("/api/tags/whitelist").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$[?(@ == 'JPA')]").exists());
+    }
+
+    @WithAccount("yongbon")
+    @DisplayName("태그 접두어 검색 - 대소문자 구분 없이 정렬된 순서로")
+    @Test
+    void searchTags() throws Exception {
+        tagService.findOrCreateNew("spring-boot");
+        tagService.findOrCreateNew("Spring");
+        tagService.findOrCreateNew("JPA");
+
+        mockMvc.perform(get("/api/tags/search").param("prefix", "SPR"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0]").value("Spring"))
+                .andExpect(jsonPath("$[1]").value("spring-boot"));
+
+        mockMvc.perform(get("/api/tags/search").param("prefix", "spr").param("limit", "1"))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+}